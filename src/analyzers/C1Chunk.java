@@ -0,0 +1,317 @@
+/**
+ * ****************************************************************
+ * File: 			C1Chunk.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To parse one section of a c1 data file on its
+ * 					own, recording the state changes for each column
+ * 					along with the first and last states it saw so
+ * 					the sections can be joined back together in order.
+ *
+ * ****************************************************************
+ */
+package analyzers;
+
+import java.nio.ByteBuffer;
+
+import objects.TransitionStore;
+
+public class C1Chunk
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Chunk Variable Declarations
+
+	/**
+	 * Parser field values, used for keeping track of which part of the line we are currently reading
+	 */
+	private static final int FIELD_TIME = 0;
+	private static final int FIELD_STATES = 1;
+	private static final int FIELD_SKIP = 2;
+
+	/**
+	 * Used for keeping track of the time of the first record in this chunk, which is the base time if this is the first chunk
+	 */
+	private long baseTimeValue = -1;
+
+	/**
+	 * Used for storing the first state character that was seen for each column, and the time of the line it was on.
+	 * These are compared against the last states of the previous chunk to find the changes that happen on the boundary.
+	 */
+	private byte[] firstState;
+	private long[] firstTime;
+
+	/**
+	 * Used for storing the last known state of each channel so we can detect when a channel changes
+	 */
+	private byte[] eventData;
+
+	/**
+	 * Used for storing the changes found for each column. The times have not been adjusted by the base time yet.
+	 */
+	private TransitionStore[] events;
+
+	/**
+	 * Used for keeping track of how many columns have been seen in this chunk
+	 */
+	private int eventDataLength = 0;
+
+	/**
+	 * Used for keeping track of the part of the line we are currently reading
+	 */
+	private int field = FIELD_TIME;
+
+	/**
+	 * Used for accumulating the decimal time value of the current line
+	 */
+	private long time = 0;
+
+	/**
+	 * Used for indicating if the current line contained any time digits
+	 */
+	private boolean hasTime = false;
+
+	/**
+	 * Used for keeping track of which state column we are currently reading
+	 */
+	private int column = 0;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Chunk Construction
+
+	/**
+	 * Creates an empty chunk that is ready to scan
+	 */
+	public C1Chunk()
+	{
+		firstState = new byte[64];
+		firstTime = new long[64];
+		eventData = new byte[64];
+		events = new TransitionStore[64];
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Chunk Scanning Methods
+
+	/**
+	 * Scans all of the remaining bytes in the buffer, recording an event each time a column changes state.
+	 *
+	 * @param buffer
+	 */
+	public void scan(ByteBuffer buffer)
+	{
+		while (buffer.hasRemaining())
+		{
+			byte b = buffer.get();
+
+			// A new line ends the current record, so reset the parser for the next one
+			if (b == '\n')
+			{
+				endLine();
+			}
+			// Carriage returns are dropped the same way that readLine() drops them
+			else if (b == '\r')
+			{
+				continue;
+			}
+			else if (field == FIELD_TIME)
+			{
+				// A space separates the time from the state data. A line without a time is skipped.
+				if (b == ' ')
+				{
+					if (!hasTime)
+					{
+						field = FIELD_SKIP;
+						continue;
+					}
+
+					field = FIELD_STATES;
+
+					// Remember the first records time. For the first chunk in the file this is the base time,
+					// which allows us to use the first event as time 0, making the time values small and more manageable.
+					if (baseTimeValue == -1)
+						baseTimeValue = time;
+				}
+				else if (b >= '0' && b <= '9')
+				{
+					time = (time * 10) + (b - '0');
+					hasTime = true;
+				}
+				else
+				{
+					// The time isn't a number, so the line is damaged. The whole line is skipped, since its time can't be trusted.
+					field = FIELD_SKIP;
+				}
+			}
+			else if (field == FIELD_STATES)
+			{
+				// Anything after a second space is not state data
+				if (b == ' ')
+					field = FIELD_SKIP;
+				else
+					readState(b);
+			}
+		}
+	}
+
+	/**
+	 * Finishes scanning by treating any partial line as a complete one
+	 */
+	public void finish()
+	{
+		endLine();
+	}
+
+	/**
+	 * Compares a state character with the last state of the current column and records an event if it changed
+	 *
+	 * @param state
+	 */
+	private void readState(byte state)
+	{
+		// If the column hasn't been seen before in this chunk, remember its state so it can be compared with the previous chunk
+		if (column >= eventDataLength)
+		{
+			if (column >= eventData.length)
+				grow();
+
+			firstState[column] = state;
+			firstTime[column] = time;
+			eventData[column] = state;
+			eventDataLength = column + 1;
+		}
+		// If the new and old states do not match, then we have an event to take care of
+		else if (eventData[column] != state)
+		{
+			TransitionStore e = events[column];
+
+			if (e == null)
+			{
+				e = new TransitionStore();
+				events[column] = e;
+			}
+
+			e.add(time, (state == '1') ? 1 : 0);
+
+			// Update the old array with the updated value for comparison later
+			eventData[column] = state;
+		}
+
+		column++;
+	}
+
+	/**
+	 * Doubles the size of all of the column arrays
+	 */
+	private void grow()
+	{
+		int length = eventData.length * 2;
+
+		byte[] grownFirstState = new byte[length];
+		long[] grownFirstTime = new long[length];
+		byte[] grownEventData = new byte[length];
+		TransitionStore[] grownEvents = new TransitionStore[length];
+
+		System.arraycopy(firstState, 0, grownFirstState, 0, eventDataLength);
+		System.arraycopy(firstTime, 0, grownFirstTime, 0, eventDataLength);
+		System.arraycopy(eventData, 0, grownEventData, 0, eventDataLength);
+		System.arraycopy(events, 0, grownEvents, 0, eventDataLength);
+
+		firstState = grownFirstState;
+		firstTime = grownFirstTime;
+		eventData = grownEventData;
+		events = grownEvents;
+	}
+
+	/**
+	 * Resets the parser so it is ready to read the next line.
+	 */
+	private void endLine()
+	{
+		// A line with a time but no state data still sets the base time, as long as the time was a number
+		if (field == FIELD_TIME && hasTime && baseTimeValue == -1)
+			baseTimeValue = time;
+
+		field = FIELD_TIME;
+		time = 0;
+		hasTime = false;
+		column = 0;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Chunk Getters
+
+	/**
+	 * Returns the time of the first record in the chunk, or -1 if the chunk did not contain any records
+	 * @return
+	 */
+	public long getBaseTime()
+	{
+		return baseTimeValue;
+	}
+
+	/**
+	 * Returns the number of columns that were seen in the chunk
+	 * @return
+	 */
+	public int getColumnCount()
+	{
+		return eventDataLength;
+	}
+
+	/**
+	 * Returns the first state character seen for the column
+	 * @param column
+	 * @return
+	 */
+	public byte getFirstState(int column)
+	{
+		return firstState[column];
+	}
+
+	/**
+	 * Returns the time of the line the column was first seen on
+	 * @param column
+	 * @return
+	 */
+	public long getFirstTime(int column)
+	{
+		return firstTime[column];
+	}
+
+	/**
+	 * Returns the last state character seen for the column
+	 * @param column
+	 * @return
+	 */
+	public byte getLastState(int column)
+	{
+		return eventData[column];
+	}
+
+	/**
+	 * Returns the events found for the column, or null if it never changed within the chunk
+	 * @param column
+	 * @return
+	 */
+	public TransitionStore getEvents(int column)
+	{
+		return events[column];
+	}
+
+	/**
+	 * Releases the events for the column once they have been copied into their channel
+	 * @param column
+	 */
+	public void releaseEvents(int column)
+	{
+		events[column] = null;
+	}
+}
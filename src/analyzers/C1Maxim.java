@@ -11,17 +11,18 @@
  */
 package analyzers;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 
+import objects.TransitionStore;
 import objects.c1.C1Channel;
-import objects.c1.C1Object;
-import objects.graphs.Line;
+import objects.graphs.ActivityHistogram;
+import objects.graphs.GraphLineBuilder;
+import objects.graphs.LineBuffer;
 
 public class C1Maxim 
 {
@@ -44,11 +45,6 @@ public class C1Maxim
 	 */
 	private File c1File;
 	
-	/**
-	 * Used for storing all of the raw events that are detected during analysis
-	 */
-	private Vector<C1Object> events;
-	
 	/**
 	 * Used for storing all the individual channel information after analysis.
 	 * This is what we search through when looking for events
@@ -56,9 +52,10 @@ public class C1Maxim
 	private Vector<C1Channel> channels;
 
 	/**
-	 * Used for storing all the graph lines that are to be rendered
+	 * Used for counting the transitions in each part of the session for every channel, so the activity overview
+	 * doesn't have to go through all of the transitions again.
 	 */
-	private Vector<Line> graphLines;
+	private ActivityHistogram activity = new ActivityHistogram();
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -69,9 +66,6 @@ public class C1Maxim
 	 */
 	public C1Maxim()
 	{
-		// Create an array to store all of the individual events
-		events = new Vector<C1Object>();
-		
 		// Create an array to store all of the individual channels
 		channels = new Vector<C1Channel>();
 	}
@@ -82,11 +76,13 @@ public class C1Maxim
 	// -- C1Analyzer Analysis methods 
 	
 	/**
-	 * Performs the analysis of the C1 file and creates all the array data for use with the graphs
+	 * Performs the analysis of the C1 file and creates all the array data for use with the graphs.
+	 * The number of bytes read is added to the progress as the file is analyzed.
 	 * 
 	 * @param file
+	 * @param progress
 	 */
-	public void performAnalysis(File file)
+	public void performAnalysis(File file, AtomicLong progress)
 	{
 		// Set the c1 source file to the one passed so we can analyze it
 		this.c1File = file;
@@ -97,48 +93,35 @@ public class C1Maxim
 		// Set the sTime to the current time
 		sTime = System.currentTimeMillis();
 		
+		// If the file hasn't changed since the last time it was analyzed, use the saved results instead of parsing it again
+		TransitionCache cache = new TransitionCache(this.c1File);
+		
+		if (loadCache(cache))
+		{
+			progress.addAndGet(cache.getSourceLength());
+			
+			// Count the transitions for the activity overview
+			updateActivity();
+			
+			System.out.println("Loaded C1 File from cache: " + this.c1File.getName() + " (" + channels.size() + " channels)");
+			System.out.println("Finished Generating C1 element records: " + (System.currentTimeMillis() - sTime) + " ms");
+			System.out.println("------------------------------------------------------");
+			return;
+		}
+		
 		System.out.println("Analyzing C1 File: " + this.c1File.getName());
+		
+		// Used for making sure only a complete analysis gets saved to the cache
+		boolean parsed = false;
 
 		// Surround everything in a try/catch block for catching any errors with reading the file
 		try 
 		{
-			// Create a buffered reader to read the contents of the C1 File
-			@SuppressWarnings("resource")
-			BufferedReader fileReader = new BufferedReader(new FileReader(this.c1File.getPath()));
-
-			// A string to temporarily store each line to be read.
-			String line = null;
+			// Map the Maxim file into memory and decode it in a single pass. Each line's time and payload are
+			// decoded with integer arithmetic and the transition is added straight to its channel.
+			new C1MaximScanner(channels, progress).scanFile(this.c1File);
 			
-			// Initialize the base time to -1. 
-			long baseTimeValue = -1;
-			
-			// Read each line from the file and store it into line and continue running as long as line is not null
-			while ((line = fileReader.readLine()) != null)
-			{
-				// Get the time parameter from the line first 7 hex characters.
-				Long time = Long.parseLong(line.substring(0, 7), 16);
-				
-				// If the baseTime is -1, then we need to initialize it to the first records time.
-				// This allows us to use the first event as time 0, making the time values small and more manageable.
-				if (baseTimeValue == -1)
-					baseTimeValue = time;
-
-				// Adjust the time based on the baseTimeValue.
-				time = time - baseTimeValue;
-				
-				// Get the state data from the line.				
-				String binary = Integer.toBinaryString((Integer.parseInt(line.substring(7), 16)));
-				while (binary.length() < 12)
-				{
-					binary = "0" + binary;
-				}
-				
-				int chip = Integer.parseInt(binary.substring(0, 4), 2);
-				int state = Integer.parseInt(binary.substring(4, 7));
-				int channel = Integer.parseInt(binary.substring(7), 2) + (chip * 24);
-
-				events.add(new C1Object(time, state, channel));
-			}
+			parsed = true;
 		}
 		catch (FileNotFoundException e) 
 		{
@@ -149,18 +132,19 @@ public class C1Maxim
 			e.printStackTrace();
 		}
 
-		// Now that we have all the elements extracted, we can create the finalized data structures
-		createChannelArrays();
-		
-		// Assign all of the events to individual channels for easier use with the graphing system
-		generateChannelData();
-		
 		// Insert an element at time 0 that has the opposite state of the first element
 		insertStartElement();
 		
 		// Sort the channel array by bit number
 		Collections.sort(channels);
 		
+		// Save the results so they can be loaded straight back in next time, unless the load was stopped
+		if (parsed && !Thread.currentThread().isInterrupted())
+			saveCache(cache);
+		
+		// Count the transitions for the activity overview
+		updateActivity();
+		
 		// The following only prints out the counts of events for each channel
 		System.out.println();
 		System.out.println("Total Events By Channel");
@@ -168,7 +152,7 @@ public class C1Maxim
 		// Loop through all of the channels and print out the number of events 
 		for (C1Channel c : channels)
 		{
-			System.out.printf("Channel %d: %d events\n", c.getBit(), c.getObjects().size() / 2);
+			System.out.printf("Channel %d: %d events\n", c.getBit(), c.size() / 2);
 		}
 		System.out.println();
 
@@ -177,56 +161,42 @@ public class C1Maxim
 	}
 	
 	/**
-	 *  Creates the channel arrays an initializes them for use
+	 * Reads the channels from the data file's cache if it is still valid. The channels in the cache were saved
+	 * after the start elements were inserted and they were sorted, so they are ready to use as they are.
+	 * 
+	 * @param cache
+	 * @return true if the channels were loaded from the cache
 	 */
-	private void createChannelArrays()
+	private boolean loadCache(TransitionCache cache)
 	{
-		// Loop through each event that we found to create the channel data
-		for (C1Object o : events)
+		if (!cache.load())
+			return false;
+		
+		for (int i = 0; i < cache.getChannelCount(); i++)
 		{
-			// Create a temporary bit to hold the objects bit numer
-			int bit = o.getBit();
-			
-			// Used in determining if we found a valid pin
-			boolean foundBit = false;
-			
-			// Loop through all the channel objects we have so far
-			for (C1Channel c : channels)
-			{
-				// If that channel object exists, we change the found flag to true
-				if (c.getBit() == bit)
-				{
-					foundBit = true;
-				}
-			}
-			
-			// If the found flag is false, we didn't find that bit anywhere
-			// so we need to add that channel object with the bit it will represent
-			if (!foundBit)
-			{
-				channels.add(new C1Channel(bit));
-			}
+			channels.add(new C1Channel(cache.getBit(i), cache.getTransitions(i)));
 		}
+		
+		return true;
 	}
 	
 	/**
-	 *  Adds all of the events to the appropriate channel's event arrays
+	 * Saves the analyzed channels to the data file's cache so the next time it is opened it doesn't have to be parsed again
+	 * 
+	 * @param cache
 	 */
-	private void generateChannelData()
-	{	
-		// Loop through each Log 170 event we detected
-		for (C1Object o : events)
-		{			
-			// Loop through each channel we have found
-			for (C1Channel c : channels)
-			{
-				// If the channel and bit parameters match, we cna add the event object to the channel's array
-				if (c.getBit() == o.getBit())
-				{
-					c.addObject(o);
-				}
-			}
+	private void saveCache(TransitionCache cache)
+	{
+		int[] bits = new int[channels.size()];
+		TransitionStore[] transitions = new TransitionStore[channels.size()];
+		
+		for (int i = 0; i < channels.size(); i++)
+		{
+			bits[i] = channels.elementAt(i).getBit();
+			transitions[i] = channels.elementAt(i).getTransitions();
 		}
+		
+		cache.save(bits, transitions);
 	}
 	
 	/**
@@ -237,14 +207,12 @@ public class C1Maxim
 		// Loop through all of the channel objects
 		for (C1Channel c : channels)
 		{
-			// Get the Log 170 Object currently at the start
-			C1Object o = c.getObjects().elementAt(0);
-			
-			// Create  new Log 170 Object at time 0, with the state opposite of the current start element
-			C1Object newObj = new C1Object(0, (o.getState() == 0) ? 1 : 0, o.getBit());
+			// Insert a new element at time 0, with the state opposite of the current start element.
+			// This will move all subsequent elements by +1
+			c.insertObject(0, 0, (c.getState(0) == 0) ? 1 : 0);
 			
-			// Insert the new element at index 0. This will move all subsequent elements by +1
-			c.getObjects().insertElementAt(newObj, 0);
+			// Loading has finished, so release any unused space in the channel's arrays
+			c.trimToSize();
 		}
 	}
 	
@@ -255,22 +223,45 @@ public class C1Maxim
 	/**
 	 * Get the graph events to be displayed.
 	 * 
+	 * @param graphLines - buffer the graph lines are added to
 	 * @param gw - graph width in pixels
 	 * @param time - current time being displayed
 	 * @param gSeconds - graph width in seconds
 	 * @param channel - channel to be retrieved
 	 * @param top - graph top line pixel location
 	 * @param bottom - graph bottom line pixel location
-	 * @return
 	 */
-	public Vector<Line> getGraphEvents(int gw, long time, double gSeconds, int channel, double top, double bottom)
+	public void getGraphEvents(LineBuffer graphLines, int gw, long time, double gSeconds, int channel, double top, double bottom)
+	{
+		// Find the pixels per millisecond, and the column of the left side of the graph
+		double scale = GraphLineBuilder.getScale(gw, gSeconds);
+		long left = GraphLineBuilder.getColumn(time - (gSeconds * 1000) / 2, scale);
+		
+		// Include the lines just off the left side that reach onto the graph
+		getGraphEvents(graphLines, scale, left - GraphLineBuilder.EDGE_COLUMNS, left + gw, left, channel, top, bottom);
+	}
+	
+	/**
+	 * Get the graph events to be displayed for a range of columns. Columns are counted from time 0, 
+	 * so this can be used to draw only part of a graph.
+	 * 
+	 * @param graphLines - buffer the graph lines are added to
+	 * @param scale - pixels per millisecond
+	 * @param first - first column to be retrieved
+	 * @param last - last column to be retrieved
+	 * @param origin - column that is drawn at pixel 0
+	 * @param channel - channel to be retrieved
+	 * @param top - graph top line pixel location
+	 * @param bottom - graph bottom line pixel location
+	 */
+	public void getGraphEvents(LineBuffer graphLines, double scale, long first, long last, long origin, int channel, double top, double bottom)
 	{
-		// This is the number of milliseconds that are being displayed
-		double difference = (gSeconds * 1000) / 2;
-
 		// Min and Max is the range of times being displayed on the graph
-		long min = (long) (time - difference);
-		long max = (long) (time + difference);
+		long min = GraphLineBuilder.getFirstTime(first, scale);
+		long max = GraphLineBuilder.getFirstTime(last + 1, scale) - 1;
+		
+		// Clear out the last lines, so nothing is drawn if the channel isn't found
+		graphLines.clear();
 		
 		// Loop through each of the channel objects to find which one we are going to use with the graph
 		for (C1Channel c : channels)
@@ -278,80 +269,75 @@ public class C1Maxim
 			// If the channel we want matches the current channel, generate the graph objects for it
 			if (c.getBit() == channel)
 			{
-				createGraphObjects(gw, min, time, max, c.getStates(min, time, max), top, bottom);
+				// Find the range of states to be graphed, then generate the graph objects from it
+				int end = c.getEndIndex(max);
+				int start = Math.min(c.getStartIndex(min), end);
+				
+				GraphLineBuilder.createGraphLines(graphLines, scale, first, last, origin, c.getTransitions(), start, end, top, bottom);
 			}
 		}
-		
-		return graphLines;
 	}
 	
 	/**
-	 *  Creates the graph line objects to be drawn
-	 *  
-	 * @param gw
-	 * @param min
-	 * @param center
-	 * @param max
-	 * @param gObjects
-	 * @param top
-	 * @param bottom
+	 * Get the graph events to be displayed for several channels at once, over the same range of columns. 
+	 * The range of times is only worked out once, and the channels are only looped through once for all of them.
+	 * 
+	 * @param graphLines - buffers the graph lines are added to, one for each channel in the same order
+	 * @param scale - pixels per millisecond
+	 * @param first - first column to be retrieved
+	 * @param last - last column to be retrieved
+	 * @param origin - column that is drawn at pixel 0
+	 * @param bits - channels to be retrieved
+	 * @param top - graph top line pixel location
+	 * @param bottom - graph bottom line pixel location
 	 */
-	private void createGraphObjects(double gw, long min, long center, long max, Vector<C1Object> gObjects, double top, double bottom)
+	public void getGraphEvents(LineBuffer[] graphLines, double scale, long first, long last, long origin, int[] bits, double top, double bottom)
 	{
-		graphLines = new Vector<Line>();
+		// Min and Max is the range of times being displayed on the graph
+		long min = GraphLineBuilder.getFirstTime(first, scale);
+		long max = GraphLineBuilder.getFirstTime(last + 1, scale) - 1;
 		
-		// Used in helping figure out where the lines will be drawn at (represents milliseconds)
-		long timeBeingDisplayed = max - min;
-
-		// This gets reassigned as we loop through each of the objects to be drawn. 
-		long previousTime = max - min;
+		// Clear out the last lines, so nothing is drawn for a channel that isn't found
+		for (int i = 0; i < bits.length; i++)
+			graphLines[i].clear();
 		
-		// Loop through all of the objects to be graphed. 
-		// NOTE: These are listed in reverse order
-		for (int i = 0; i < gObjects.size(); i++)
+		// Loop through each of the channel objects, generating the graph objects for every buffer that wants it
+		for (C1Channel c : channels)
 		{
-			// Retrieve the object that is going to be drawn.
-			C1Object o = gObjects.elementAt(i);
-			
-			// Create variables to hold the line left and right positions;
-			double lineLeftPx = 0.0, lineRightPx = 0.0;
-			
-			// This returns the millisecond position of the line to be drawn
-			double lineLeft = (o.getMilli() - min);
-			// If lineLeft in pixels is less than 0, we don't need to draw anything less than that, so we reset it to 0.0
-			if (lineLeft < 0.0)
-				lineLeft = 0.0;
-			// Convert the lineLeft in milliseconds to pixels
-			if (lineLeft != 0.0)
-			{
-				// This takes the ratio of the graph width and the time window and assigns it to a pixel value
-				lineLeftPx = (gw / timeBeingDisplayed) * lineLeft;
-			}	
-			
-			// This returns the millisecond position of the line to be drawn
-			double lineRight = (previousTime * 1.0);
-			// This takes the ratio of the graph width and the time window and assigns it to a pixel value
-			lineRightPx = (gw / timeBeingDisplayed) * lineRight;
-			
-			// Get the location in pixels of where the horizontal line is to be drawn
-			// NOTE: With the java graphics api, point (0, 0) is located in the TOP LEFT of the screen, not bottom Left.
-			double horizontal = (o.getState() == 0) ? top : bottom;
-
-			// Create a new Line object and add it to the array to be return for drawing
-			graphLines.add(new Line((int)lineLeftPx, (int)horizontal, (int)lineRightPx, (int)horizontal));
-			
-			// If the current index is not 1 position smaller than the array size, we need to create a vertical line for it
-			if (i != gObjects.size() - 1)
+			for (int i = 0; i < bits.length; i++)
 			{
-				// Create a new vertical line object and add it to the array
-				graphLines.add(new Line((int)lineLeftPx, (int)bottom, (int)lineLeftPx, (int)top));
+				if (c.getBit() == bits[i])
+				{
+					// Find the range of states to be graphed, then generate the graph objects from it
+					int end = c.getEndIndex(max);
+					int start = Math.min(c.getStartIndex(min), end);
+					
+					GraphLineBuilder.createGraphLines(graphLines[i], scale, first, last, origin, c.getTransitions(), start, end, top, bottom);
+				}
 			}
-			
-			// Re-assign the previous time.
-			previousTime = o.getMilli() - min;
 		}
 	}
 	
+	/**
+	 * Counts any transitions that haven't been counted yet for the activity overview
+	 */
+	private void updateActivity()
+	{
+		for (C1Channel c : channels)
+		{
+			activity.update(c.getBit(), c.getTransitions());
+		}
+	}
+	
+	/**
+	 * Returns the number of transitions in each part of the session for every channel
+	 * @return
+	 */
+	public ActivityHistogram getActivity()
+	{
+		return activity;
+	}
+	
 	/**
 	 *  Returns an array with all of the channel numbers
 	 * @return
@@ -383,11 +369,11 @@ public class C1Maxim
 		for (C1Channel c : channels)
 		{
 			// Retrieve the last object in the channel's event array
-			C1Object o = c.getObjects().lastElement();
+			long last = c.getMilli(c.size() - 1);
 			
-			// If the Log 170 Object's time is greater than the max found already, then update the max time.
-			if (o.getMilli() > max)
-				max = (int) o.getMilli();
+			// If the last element's time is greater than the max found already, then update the max time.
+			if (last > max)
+				max = (int) last;
 		}
 		
 		return max;
@@ -402,9 +388,10 @@ public class C1Maxim
 	 * Returns the next time event for a specific channel and state
 	 * @param channel
 	 * @param state
+	 * @param currentTime - the time currently being displayed
 	 * @return
 	 */
-	public long returnNextTimeValueForEvent(int channel, int state)
+	public long returnNextTimeValueForEvent(int channel, int state, long currentTime)
 	{
 		long time = 0;
 		
@@ -414,18 +401,18 @@ public class C1Maxim
 			// Check to make sure that the channel number matches the channel in question
 			if (c.getBit() == channel)
 			{
-				// We found the correct channel. Now lets get the index and determine its state
-				C1Object o = c.getObjects().elementAt(c.getCurrentJumpElementIndex());
+				// We found the correct channel. Now lets find the element at the current time and determine its state
+				int index = Math.max(c.getIndexAtTime(currentTime), 0);
 				
 				// If the object state is the same as we are looking for, then we need to jump back by two states
 				// Otherwise we only need to jump back by one position
-				if (o.getState() == state)
+				if (c.getState(index) == state)
 				{
-					time = c.getObjects().elementAt(c.getCurrentJumpElementIndex() + 2).getMilli();
+					time = c.getMilli(Math.min(index + 2, c.size() - 1));
 				}
 				else
 				{
-					time = c.getObjects().elementAt(c.getCurrentJumpElementIndex() + 1).getMilli();
+					time = c.getMilli(Math.min(index + 1, c.size() - 1));
 				}
 				
 				// Since we found an event, then we can break out of the loop as there is no reason to continue searching.
@@ -442,9 +429,10 @@ public class C1Maxim
 	 * 
 	 * @param channel
 	 * @param state
+	 * @param currentTime - the time currently being displayed
 	 * @return
 	 */
-	public long returnPreviousTimeValueForEvent(int channel, int state)
+	public long returnPreviousTimeValueForEvent(int channel, int state, long currentTime)
 	{
 		long time = 0;
 		
@@ -454,18 +442,18 @@ public class C1Maxim
 			// Check to make sure that the channel number matches the channel in question
 			if (c.getBit() == channel)
 			{
-				// We found the correct channel. Now lets get the index and determine its state
-				C1Object o = c.getObjects().elementAt(c.getCurrentJumpElementIndex());
+				// We found the correct channel. Now lets find the element at the current time and determine its state
+				int index = Math.max(c.getIndexAtTime(currentTime), 0);
 				
 				// If the object state is the same as we are looking for, then we need to jump back by two states
 				// Otherwise we only need to jump back by one position
-				if (o.getState() == state)
+				if (c.getState(index) == state)
 				{
-					time = c.getObjects().elementAt(c.getCurrentJumpElementIndex() - 2).getMilli();
+					time = c.getMilli(Math.max(index - 2, 0));
 				}
 				else
 				{
-					time = c.getObjects().elementAt(c.getCurrentJumpElementIndex() - 1).getMilli();
+					time = c.getMilli(Math.max(index - 1, 0));
 				}
 				
 				// Since we found an event, then we can break out of the loop as there is no reason to continue searching.
@@ -0,0 +1,253 @@
+/**
+ * ****************************************************************
+ * File: 			C1MaximScanner.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To parse the raw bytes of a c1 maxim data file
+ * 					in a single pass and place each transition
+ * 					directly into the channel it belongs to.
+ *
+ * ****************************************************************
+ */
+package analyzers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
+
+import objects.c1.C1Channel;
+
+public class C1MaximScanner
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Maxim Scanner Variable Declarations
+
+	/**
+	 * The largest region of the file that will be mapped into memory at once.
+	 * A single mapping can not exceed Integer.MAX_VALUE bytes, so larger files are mapped in windows.
+	 */
+	private static final long MAP_WINDOW_SIZE = 256L * 1024 * 1024;
+
+	/**
+	 * The number of bytes that are scanned between each progress update and check for the scan being stopped
+	 */
+	private static final int PROGRESS_STEP = 4 * 1024 * 1024;
+
+	/**
+	 * The number of hex characters at the start of each line that make up the time value
+	 */
+	private static final int TIME_DIGITS = 7;
+
+	/**
+	 * The number of channels that each maxim chip provides
+	 */
+	private static final int CHANNELS_PER_CHIP = 24;
+
+	/**
+	 * The largest channel number that can be decoded: 4 bits of chip and 5 bits of channel
+	 */
+	private static final int MAX_CHANNELS = (15 * CHANNELS_PER_CHIP) + 32;
+
+	/**
+	 * Used for storing the channels in the order they were found
+	 */
+	private Vector<C1Channel> channels;
+
+	/**
+	 * Used for finding the channel for a channel number without having to search through the channels array
+	 */
+	private C1Channel[] channelTable = new C1Channel[MAX_CHANNELS];
+
+	/**
+	 * Used for keeping track of the first records time so all times start at 0
+	 */
+	private long baseTimeValue = -1;
+
+	/**
+	 * Used for accumulating the hex time value of the current line
+	 */
+	private long time = 0;
+
+	/**
+	 * Used for accumulating the hex payload value of the current line
+	 */
+	private int payload = 0;
+
+	/**
+	 * Used for keeping track of how many hex digits have been read on the current line
+	 */
+	private int digits = 0;
+
+	/**
+	 * Used for counting the bytes that have been scanned so far, so the progress can be shown while the file is loading
+	 */
+	private AtomicLong progress;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Maxim Scanner Construction
+
+	/**
+	 * Creates a scanner that adds each channel it finds to the channels array
+	 * @param channels
+	 */
+	public C1MaximScanner(Vector<C1Channel> channels)
+	{
+		this(channels, new AtomicLong());
+	}
+
+	/**
+	 * Creates a scanner that adds each channel it finds to the channels array, and adds the number of bytes
+	 * it scans to the progress
+	 * @param channels
+	 * @param progress
+	 */
+	public C1MaximScanner(Vector<C1Channel> channels, AtomicLong progress)
+	{
+		this.channels = channels;
+		this.progress = progress;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Maxim Scanner Methods
+
+	/**
+	 * Maps the file into memory window by window and scans every byte that it contains.
+	 * Throws an InterruptedIOException if the thread is interrupted while the file is being scanned.
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public void scanFile(File file) throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			long position = 0;
+
+			// Map each window of the file and scan it. The parser keeps its state between windows
+			// so a line that crosses the end of a window is handled correctly.
+			while (position < size)
+			{
+				long length = Math.min(MAP_WINDOW_SIZE, size - position);
+
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+				// Scan the window a step at a time, so the progress can be shown and the scan can be stopped part way through
+				while (buffer.position() < buffer.capacity())
+				{
+					if (Thread.currentThread().isInterrupted())
+						throw new InterruptedIOException("Interrupted while reading " + file.getName());
+
+					int step = Math.min(PROGRESS_STEP, buffer.capacity() - buffer.position());
+
+					buffer.limit(buffer.position() + step);
+					scan(buffer);
+
+					progress.addAndGet(step);
+				}
+
+				position += length;
+			}
+
+			// The last line in the file may not end with a new line character
+			finish();
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Scans all of the remaining bytes in the buffer, adding a transition at the end of each line.
+	 *
+	 * @param buffer
+	 */
+	public void scan(ByteBuffer buffer)
+	{
+		while (buffer.hasRemaining())
+		{
+			byte b = buffer.get();
+
+			if (b == '\n')
+			{
+				endLine();
+			}
+			else
+			{
+				int nibble = Character.digit(b, 16);
+
+				// Skip anything that isn't a hex digit, such as carriage returns
+				if (nibble < 0)
+					continue;
+
+				// The first 7 hex digits are the time, everything after that is the payload
+				if (digits < TIME_DIGITS)
+					time = (time << 4) | nibble;
+				else
+					payload = (payload << 4) | nibble;
+
+				digits++;
+			}
+		}
+	}
+
+	/**
+	 * Finishes scanning by treating any partial line as a complete one
+	 */
+	public void finish()
+	{
+		endLine();
+	}
+
+	/**
+	 * Decodes the line that was just read and adds its transition to the appropriate channel.
+	 */
+	private void endLine()
+	{
+		// Only lines that contain both a time and a payload have a transition
+		if (digits > TIME_DIGITS)
+		{
+			// If the baseTime is -1, then we need to initialize it to the first records time.
+			// This allows us to use the first event as time 0, making the time values small and more manageable.
+			if (baseTimeValue == -1)
+				baseTimeValue = time;
+
+			// The 12 bit payload is laid out as 4 bits of chip, 3 bits of state and 5 bits of channel
+			int chip = (payload >> 8) & 0xF;
+			int state = (payload >> 5) & 0x7;
+			int channel = (payload & 0x1F) + (chip * CHANNELS_PER_CHIP);
+
+			// Add the transition straight to its channel, creating the channel the first time it is seen
+			C1Channel c = channelTable[channel];
+
+			if (c == null)
+			{
+				c = new C1Channel(channel);
+				channelTable[channel] = c;
+				channels.add(c);
+			}
+
+			c.addObject(time - baseTimeValue, state);
+		}
+
+		time = 0;
+		payload = 0;
+		digits = 0;
+	}
+}
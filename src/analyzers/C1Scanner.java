@@ -0,0 +1,568 @@
+/**
+ * ****************************************************************
+ * File: 			C1Scanner.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To parse the raw bytes of a c1 data file one
+ * 					character at a time so that no Strings have to
+ * 					be created for each line that is read, and to
+ * 					place each transition directly into its channel.
+ * 					Large files are split into chunks at line breaks
+ * 					that are parsed at the same time on separate
+ * 					threads and then joined back together in order.
+ *
+ * ****************************************************************
+ */
+package analyzers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import objects.TransitionStore;
+import objects.c1.C1Channel;
+
+public class C1Scanner
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Scanner Variable Declarations
+
+	/**
+	 * The largest region of the file that will be mapped into memory at once.
+	 * A single mapping can not exceed Integer.MAX_VALUE bytes, so larger files are split into chunks no bigger than this.
+	 */
+	private static final long MAP_WINDOW_SIZE = 256L * 1024 * 1024;
+
+	/**
+	 * The smallest chunk worth handing to its own thread. Files smaller than this are parsed as a single chunk.
+	 */
+	private static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+
+	/**
+	 * The number of bytes that are scanned between each progress update and check for the scan being stopped
+	 */
+	private static final int PROGRESS_STEP = 4 * 1024 * 1024;
+
+	/**
+	 * Used for storing the channels in the order they were found
+	 */
+	private Vector<C1Channel> channels;
+
+	/**
+	 * Used for finding the channel for a column without having to search through the channels array
+	 */
+	private C1Channel[] channelTable;
+
+	/**
+	 * Used for keeping track of the first records time so all times start at 0
+	 */
+	private long baseTimeValue = -1;
+
+	/**
+	 * Used for storing the last known state of each column at the end of the chunks that have been joined so far
+	 */
+	private byte[] eventData;
+
+	/**
+	 * Used for keeping track of how many columns have been initialized in the eventData array
+	 */
+	private int eventDataLength = 0;
+
+	/**
+	 * Used for keeping track of how much of the file has been scanned
+	 */
+	private long scannedLength = 0;
+
+	/**
+	 * Used for counting the bytes that have been scanned so far, so the progress can be shown while the file is loading.
+	 * Every chunk adds to this as it goes.
+	 */
+	private AtomicLong progress;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Scanner Construction
+
+	/**
+	 * Creates a scanner that adds each new channel it finds to the channels array
+	 * @param channels
+	 */
+	public C1Scanner(Vector<C1Channel> channels)
+	{
+		this(channels, new AtomicLong());
+	}
+
+	/**
+	 * Creates a scanner that adds each new channel it finds to the channels array, and adds the number of bytes
+	 * it scans to the progress
+	 * @param channels
+	 * @param progress
+	 */
+	public C1Scanner(Vector<C1Channel> channels, AtomicLong progress)
+	{
+		this.channels = channels;
+		this.progress = progress;
+		this.eventData = new byte[64];
+		this.channelTable = new C1Channel[64];
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- C1 Scanner Methods
+
+	/**
+	 * Scans the file using one chunk for each processor, as long as the chunks are large enough to be worth it.
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public void scanFile(File file) throws IOException
+	{
+		long size = file.length();
+
+		// Use a chunk per processor, but never make the chunks too small or too large to map into memory
+		int chunkCount = (int) Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_CHUNK_SIZE);
+		chunkCount = (int) Math.max(chunkCount, (size + MAP_WINDOW_SIZE - 1) / MAP_WINDOW_SIZE);
+
+		scanFile(file, chunkCount);
+	}
+
+	/**
+	 * Splits the file into chunkCount chunks at line breaks, parses them all at the same time and then joins them in order.
+	 * The result is the same no matter how many chunks are used.
+	 *
+	 * @param file
+	 * @param chunkCount
+	 * @throws IOException
+	 */
+	public void scanFile(File file, int chunkCount) throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			final FileChannel channel = raf.getChannel();
+			long[] bounds = findChunkBounds(channel, Math.max(chunkCount, 1));
+
+			// A single chunk doesn't need any extra threads
+			if (bounds.length == 2)
+			{
+				join(scanChunk(channel, bounds[0], bounds[1]));
+				scannedLength = bounds[1];
+				return;
+			}
+
+			ExecutorService pool = Executors.newFixedThreadPool(Math.min(bounds.length - 1, Runtime.getRuntime().availableProcessors()));
+
+			try
+			{
+				// Start parsing every chunk
+				Vector<Future<C1Chunk>> results = new Vector<Future<C1Chunk>>();
+
+				for (int i = 0; i < bounds.length - 1; i++)
+				{
+					final long start = bounds[i];
+					final long end = bounds[i + 1];
+
+					results.add(pool.submit(new Callable<C1Chunk>()
+					{
+						public C1Chunk call() throws IOException
+						{
+							return scanChunk(channel, start, end);
+						}
+					}));
+				}
+
+				// Join the chunks in file order as each one finishes. The later chunks keep parsing while the earlier ones are joined.
+				for (int i = 0; i < results.size(); i++)
+				{
+					join(results.elementAt(i).get());
+
+					// Let the chunk be garbage collected once it has been joined
+					results.setElementAt(null, i);
+				}
+
+				scannedLength = bounds[bounds.length - 1];
+			}
+			catch (InterruptedException e)
+			{
+				throw new IOException("Interrupted while reading " + file.getName());
+			}
+			catch (ExecutionException e)
+			{
+				if (e.getCause() instanceof IOException)
+					throw (IOException) e.getCause();
+
+				throw new RuntimeException(e.getCause());
+			}
+			finally
+			{
+				pool.shutdownNow();
+			}
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Prepares the scanner to continue reading a file that has already been analyzed up to length, so that
+	 * lines appended to the file afterwards can be read with scanAppended(). The base time is read from the first line
+	 * of the file and the state of each column from the last complete line, so this works the same whether the
+	 * earlier analysis came from this scanner or not.
+	 *
+	 * @param file
+	 * @param length - the number of bytes of the file that have already been analyzed
+	 * @param existing - the channels that were already found, which new events will be added to
+	 * @return the position to continue reading from
+	 * @throws IOException
+	 */
+	public long resume(File file, long length, Vector<C1Channel> existing) throws IOException
+	{
+		// New events for existing channels are added to those channels instead of creating new ones
+		for (C1Channel c : existing)
+		{
+			if (c.getBit() >= channelTable.length)
+			{
+				C1Channel[] grown = new C1Channel[Math.max(c.getBit() + 1, channelTable.length * 2)];
+				System.arraycopy(channelTable, 0, grown, 0, channelTable.length);
+				channelTable = grown;
+			}
+
+			channelTable[c.getBit()] = c;
+		}
+
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			FileChannel channel = raf.getChannel();
+			length = Math.min(length, channel.size());
+
+			// The first record in the file sets the base time
+			baseTimeValue = scanChunk(channel, 0, Math.min(length, 4096)).getBaseTime();
+
+			// Any partial line at the end will be read again once it has been finished
+			long position = findLineStart(channel, length);
+
+			// The last complete line holds the state of every column to compare the new lines against
+			if (position > 0)
+			{
+				C1Chunk last = scanChunk(channel, findLineStart(channel, position - 1), position);
+				int columns = last.getColumnCount();
+
+				if (columns > eventData.length)
+					eventData = new byte[columns];
+
+				for (int column = 0; column < columns; column++)
+					eventData[column] = last.getFirstState(column);
+
+				eventDataLength = columns;
+			}
+
+			// A partial line at the end was analyzed as if it was complete, so the states it has already set are carried forward.
+			// Once the line is finished, only the columns that were missing from it can still produce events.
+			if (position < length)
+			{
+				C1Chunk partial = scanChunk(channel, position, length);
+				int columns = partial.getColumnCount();
+
+				if (columns > eventData.length)
+				{
+					byte[] grown = new byte[columns];
+					System.arraycopy(eventData, 0, grown, 0, eventDataLength);
+					eventData = grown;
+				}
+
+				for (int column = 0; column < columns; column++)
+					eventData[column] = partial.getFirstState(column);
+
+				eventDataLength = Math.max(eventDataLength, columns);
+			}
+
+			scannedLength = position;
+
+			return position;
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Reads any complete lines that have been added to the end of the file since it was last scanned.
+	 * A line that is still being written is left until it has been finished.
+	 *
+	 * @param file
+	 * @return the position that the next call will continue reading from
+	 * @throws IOException
+	 */
+	public long scanAppended(File file) throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			FileChannel channel = raf.getChannel();
+			long end = findLineStart(channel, channel.size());
+
+			if (end > scannedLength)
+			{
+				join(scanChunk(channel, scannedLength, end));
+				scannedLength = end;
+			}
+
+			return scannedLength;
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Returns the number of bytes of the file that have been scanned
+	 * @return
+	 */
+	public long getScannedLength()
+	{
+		return scannedLength;
+	}
+
+	/**
+	 * Returns the position just after the last new line character before end, or 0 if there isn't one.
+	 * This is also used by the other analyzers to find where a partial line at the end of a file starts.
+	 *
+	 * @param channel
+	 * @param end
+	 * @return
+	 * @throws IOException
+	 */
+	static long findLineStart(FileChannel channel, long end) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		long position = end;
+
+		// Read backwards a block at a time until we find a new line character
+		while (position > 0)
+		{
+			long start = Math.max(position - buffer.capacity(), 0);
+
+			buffer.clear();
+			buffer.limit((int) (position - start));
+
+			while (buffer.hasRemaining())
+			{
+				if (channel.read(buffer, start + buffer.position()) <= 0)
+					break;
+			}
+
+			for (int b = buffer.position() - 1; b >= 0; b--)
+			{
+				if (buffer.get(b) == '\n')
+					return start + b + 1;
+			}
+
+			position = start;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Returns the positions that the chunks start at, followed by the end of the file.
+	 * Every chunk after the first starts just after a new line character so no line is split between two chunks.
+	 *
+	 * @param channel
+	 * @param chunkCount
+	 * @return
+	 * @throws IOException
+	 */
+	private long[] findChunkBounds(FileChannel channel, int chunkCount) throws IOException
+	{
+		long size = channel.size();
+		long[] bounds = new long[chunkCount + 1];
+		int count = 1;
+
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+		for (int i = 1; i < chunkCount; i++)
+		{
+			// Start looking at the evenly divided position, but never before the start of the previous chunk
+			long position = Math.max(size * i / chunkCount, bounds[count - 1]);
+			long lineStart = size;
+
+			// Read forwards until we find the next new line character
+			while (position < size && lineStart == size)
+			{
+				buffer.clear();
+				int read = channel.read(buffer, position);
+
+				if (read <= 0)
+					break;
+
+				for (int b = 0; b < read; b++)
+				{
+					if (buffer.get(b) == '\n')
+					{
+						lineStart = position + b + 1;
+						break;
+					}
+				}
+
+				position += read;
+			}
+
+			// Skip any chunks that would be empty
+			if (lineStart > bounds[count - 1] && lineStart < size)
+				bounds[count++] = lineStart;
+		}
+
+		bounds[count++] = size;
+
+		// Trim the array down to the number of chunks we actually found
+		long[] trimmed = new long[count];
+		System.arraycopy(bounds, 0, trimmed, 0, count);
+
+		return trimmed;
+	}
+
+	/**
+	 * Maps the region of the file into memory and parses it as a single chunk.
+	 * Throws an InterruptedIOException if the thread is interrupted while the chunk is being parsed.
+	 *
+	 * @param channel
+	 * @param start
+	 * @param end
+	 * @return
+	 * @throws IOException
+	 */
+	private C1Chunk scanChunk(FileChannel channel, long start, long end) throws IOException
+	{
+		C1Chunk chunk = new C1Chunk();
+		long position = start;
+
+		// Map each window of the chunk and scan it. The chunk keeps its state between windows
+		// so a line that crosses the end of a window is handled correctly.
+		while (position < end)
+		{
+			long length = Math.min(MAP_WINDOW_SIZE, end - position);
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+			// Scan the window a step at a time, so the progress can be shown and the scan can be stopped part way through
+			while (buffer.position() < buffer.capacity())
+			{
+				if (Thread.currentThread().isInterrupted())
+					throw new InterruptedIOException("Interrupted while scanning");
+
+				int step = Math.min(PROGRESS_STEP, buffer.capacity() - buffer.position());
+
+				buffer.limit(buffer.position() + step);
+				chunk.scan(buffer);
+
+				progress.addAndGet(step);
+			}
+
+			position += length;
+		}
+
+		// The last line in the chunk may not end with a new line character
+		chunk.finish();
+
+		return chunk;
+	}
+
+	/**
+	 * Adds the events from the next chunk in the file to their channels. Each column's state at the end of the previous
+	 * chunk is compared with its first state in this chunk, so a change that happens right on the boundary is not lost.
+	 *
+	 * @param chunk
+	 */
+	private void join(C1Chunk chunk)
+	{
+		// The first chunk that contains a record sets the base time for the whole file
+		if (baseTimeValue == -1)
+			baseTimeValue = chunk.getBaseTime();
+
+		int columns = chunk.getColumnCount();
+
+		for (int column = 0; column < columns; column++)
+		{
+			byte state = chunk.getFirstState(column);
+
+			// If the column was already known and its state changed across the boundary, then we have an event
+			if (column < eventDataLength && eventData[column] != state)
+			{
+				// The time element is adjusted by the base time value
+				getChannel(column).addObject(chunk.getFirstTime(column) - baseTimeValue, (state == '1') ? 1 : 0);
+			}
+
+			// Add the rest of the column's events, adjusting each of their times by the base time value
+			TransitionStore events = chunk.getEvents(column);
+
+			if (events != null)
+			{
+				getChannel(column).addObjects(events, -baseTimeValue);
+				chunk.releaseEvents(column);
+			}
+		}
+
+		// Carry the last state of each column forward to compare with the next chunk
+		if (columns > eventData.length)
+		{
+			byte[] grown = new byte[Math.max(columns, eventData.length * 2)];
+			System.arraycopy(eventData, 0, grown, 0, eventDataLength);
+			eventData = grown;
+		}
+
+		for (int column = 0; column < columns; column++)
+			eventData[column] = chunk.getLastState(column);
+
+		eventDataLength = Math.max(eventDataLength, columns);
+	}
+
+	/**
+	 * Returns the channel for the column, creating the channel the first time it changes
+	 *
+	 * @param column
+	 * @return
+	 */
+	private C1Channel getChannel(int column)
+	{
+		if (column >= channelTable.length)
+		{
+			C1Channel[] grown = new C1Channel[Math.max(column + 1, channelTable.length * 2)];
+			System.arraycopy(channelTable, 0, grown, 0, channelTable.length);
+			channelTable = grown;
+		}
+
+		C1Channel c = channelTable[column];
+
+		if (c == null)
+		{
+			c = new C1Channel(column);
+			channelTable[column] = c;
+			channels.add(c);
+		}
+
+		return c;
+	}
+}
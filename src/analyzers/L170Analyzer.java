@@ -15,15 +15,24 @@ package analyzers;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
 import java.util.Collections;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 
-import objects.graphs.Line;
+import objects.TransitionStore;
+import objects.graphs.ActivityHistogram;
+import objects.graphs.GraphLineBuilder;
+import objects.graphs.LineBuffer;
 import objects.log170.L170Channel;
-import objects.log170.L170Object;
 
 @SuppressWarnings("resource")
 public class L170Analyzer 
@@ -33,6 +42,11 @@ public class L170Analyzer
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	// -- L170 Variable Declarations
 
+	/**
+	 * The most bytes that are read from the end of the file each time it is checked while being followed
+	 */
+	private static final int FOLLOW_READ_SIZE = 16 * 1024 * 1024;
+	
 	/**
 	 * Used for indicating where the start point of the data in the records are.
 	 */
@@ -45,19 +59,48 @@ public class L170Analyzer
 	long eTime;
 	
 	/**
-	 * Used for keeping track of every event that was found in the data file.
+	 * Used for referencing the file that we analyzed
 	 */
-	private Vector<L170Object> events;
+	private File l170File;
 	
 	/**
 	 * Used for keeping track of every channel that was found from the events.
+	 * 
+	 * NOTE: While the file is being followed, new channels are added by replacing this array with a new one,
+	 * 		 so the array that a reader is looping through never changes underneath it.
+	 */
+	private volatile Vector<L170Channel> channels;
+
+	/**
+	 * Used for counting the transitions in each part of the session for every channel, so the activity overview
+	 * doesn't have to go through all of the transitions again.
 	 */
-	private Vector<L170Channel> channels;
+	private ActivityHistogram activity = new ActivityHistogram();
 
 	/**
-	 * Used for storing the graph lines based on the parameters sent by the calling class
+	 * Used for finding the channel for a bit number without having to search through the channels array.
+	 * The bit number is 5 bits, so there can only be 32 channels.
+	 */
+	private L170Channel[] channelTable;
+
+	/**
+	 * Used for keeping track of the first line's time so that all times start at 0.
+	 * The first line of the file is always read for its time, even if it doesn't pass the checks for event data.
+	 */
+	private boolean wantFirstLine = true;
+	private boolean baseTime = true;
+	private int baseTimeValue = 0;
+	
+	/**
+	 * Used for keeping track of how many bytes of the file have been analyzed
+	 */
+	private long analyzedLength;
+	
+	/**
+	 * Used for keeping track of where the next appended line starts while the file is being followed
 	 */
-	private Vector<Line> graphLines;
+	private long followPosition;
+	private boolean followStarted = false;
 
 	
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -69,8 +112,8 @@ public class L170Analyzer
 	 */
 	public L170Analyzer()
 	{
-		events = new Vector<L170Object>();
 		channels = new Vector<L170Channel>();
+		channelTable = new L170Channel[32];
 	}
 	
 	
@@ -79,124 +122,61 @@ public class L170Analyzer
 	// -- L170 Analysis Methods
 	
 	/**
-	 * Analyzes the sent data file so that it may be used with VideoSync
+	 * Analyzes the sent data file so that it may be used with VideoSync.
+	 * The number of bytes read is added to the progress as the file is analyzed.
 	 * @param file
+	 * @param progress
 	 * TODO: This analysis needs to be updated to handle 170 data files with different comment headers.
 	 * 			Errors were found when analyzing data provided by Jerry Kwong
 	 */
- 	public void performAnalysis(File file)
+ 	public void performAnalysis(File file, AtomicLong progress)
 	{
- 		boolean wantFirstLine = true;
+		// Set the 170 source file to the one passed so we can analyze it
+		this.l170File = file;
+		
 		System.out.println("------------------------------------------------------");
 
 		sTime = System.currentTimeMillis();
+		
+		// If the file hasn't changed since the last time it was analyzed, use the saved results instead of parsing it again
+		TransitionCache cache = new TransitionCache(file);
+		this.analyzedLength = cache.getSourceLength();
+		
+		if (loadCache(cache))
+		{
+			progress.addAndGet(this.analyzedLength);
+			
+			// Count the transitions for the activity overview
+			updateActivity();
+			
+			System.out.println("Loaded Log 170 File from cache: " + file.getName() + " (" + channels.size() + " channels)");
+			System.out.println("Finished Generating element records: " + (System.currentTimeMillis() - sTime) + " ms");
+			System.out.println("------------------------------------------------------");
+			return;
+		}
+		
 		System.out.println("Loading Log 170 File: " + file.getName());
 		
 		String line = null;
 		
+		// Used for making sure only a complete analysis gets saved to the cache
+		boolean parsed = false;
+		
 		// Surround everything in a try/catch block for catching any errors with reading the file
 		try 
 		{
-			// Assign a buffered reader from the file contents
-			BufferedReader fileReader = new BufferedReader(new FileReader(file.getPath()));
+			// Assign a buffered reader from the file contents. Only the length recorded above is read, since the file may still
+			// be growing, and anything after that length is read as new data when the file is followed.
+			BufferedReader fileReader = new BufferedReader(new InputStreamReader(new LimitedInputStream(new FileInputStream(file), this.analyzedLength, progress)));
 			
-			boolean baseTime = true;
-			int baseTimeValue = 0;
-						
 			// As long as there is a line to be read, continue reading everything
 			while ((line = fileReader.readLine()) != null)
 			{
-				System.out.println("Line: " + line);
-				if (!line.equals(""))
-				{					
-					// Get the length of the line. This is used for extracting all the elements out
-					int maxLineLength = line.length();
-					
-					// Make sure that the starting character is not a '<' and that the length is greater than 10.
-					// If the length is less than 10, there is no event data
-					if (line.charAt(0) != '<' && line.length() > 10 || wantFirstLine)
-					{		
-						wantFirstLine = false;
-						
-						String timeLine;
-						int addition = 0;
-						// ...Not sure what the point of this is at the moment - maybe one of the datafiles has a null character somewhere in it causing problems?
-						if (line.charAt(0) == '\0')
-						{
-							addition = 1;
-							timeLine = line.substring(3, dataStartIndex + addition);
-						}
-						else
-						{
-							timeLine = line.substring(2, dataStartIndex + addition);
-						}
-						
-						// Get the contents of the event data
-						String dataLine = line.substring(dataStartIndex + addition, maxLineLength - 2);
-						
-						
-						System.out.println("dataLine: " + dataLine);
-						
-						// Check to see if we need to calculate the offset for the time to start at 0
-						if (baseTime)
-						{
-							baseTimeValue = Integer.parseInt(timeLine, 16);
-							baseTime = !baseTime;
-						}
-						
-						// Get the time element for the current set of events
-						int time = Integer.parseInt(timeLine, 16);
-						// Adjust the time so that it calculating from 0
-						int newTime = time - baseTimeValue;
-														
-						// Loop through all the data elements in the array, increasing a by 3 each time
-						// because the data elements are in groups of 3
-						for (int a = 0; a < dataLine.length(); a+=3)
-						{
-							// Retrieve the record to be analyzed and split up
-							String record = dataLine.substring(a, a+3);
-								
-							// Convert the record into a binary string
-							String data = Integer.toBinaryString(Integer.parseInt(record, 16));
-							
-							// If the binary string is less than 12, we need to add leading 0's to it 
-							// so we can analyze it correctly. 
-							while (data.length() < 12)
-							{
-								data = "0" + data;
-							}
-							
-							// Double check to make sure the length is correct
-							if (data.length() < 12)
-							{
-								System.err.println("BINARY DATA LENGTH ERROR");
-							}
-							else
-							{
-								// Retrieve the 60th time parameter from the binary string
-								String t = data.substring(0, 6);
-								// Retrieve the state parameter from the binary string
-								String s = data.substring(6, 7);
-								// Retrieve the bit parameter from the binary string
-								String b = data.substring(7);
-											
-								// Convert the 60th parameter from a binary string to an integer
-								int sixty = Integer.parseInt(t, 2);
-								// Convert the state parameter from a binary string to an integer
-								int state = Integer.parseInt(s, 2);
-								// Convert the bit parameter from binary to an integer
-								int bit = Integer.parseInt(b, 2);
-								
-								// Add a new Log 170 Object with the integer parameters
-								events.add(new L170Object(newTime, sixty, state, bit));
-	
-								//TODO: Determine the point of this line
-								//data = data.substring(0, data.length() - 1);
-							}
-						}
-					}
-				}
+				// Add the line's events straight to their channels
+				readLine(line, channelTable, channels);
 			}
+			
+			parsed = true;
 		}
 		catch (FileNotFoundException e) 
 		{
@@ -212,25 +192,26 @@ public class L170Analyzer
 			siiob.printStackTrace();
 		}
 		
-		// Now that we have all the elements extracted, we can create the finalized data structures
-		createChannelArrays();
-
-		// Assign all of the events to individual channels for easier use with the graphing system
-		generateChannelData();
-		
 		// Insert an element at time 0 that has the opposite state of the first element
-		insertStartElement();
+		insertStartElement(channels);
 		
 		// Sort the channel array by bit number
 		Collections.sort(channels);
 		
+		// Save the results so they can be loaded straight back in next time, unless the load was stopped
+		if (parsed && !Thread.currentThread().isInterrupted())
+			saveCache(cache);
+		
+		// Count the transitions for the activity overview
+		updateActivity();
+		
 		// The following only prints out the counts of events for each channel
 		System.out.println();
 		System.out.println("Total Events By Channel");
 
 		for (L170Channel c : channels)
 		{
-			System.out.printf("Channel %d: %d events\n", c.getBit(), c.getObjects().size() / 2);
+			System.out.printf("Channel %d: %d events\n", c.getBit(), c.size() / 2);
 		}
 
 		System.out.println();
@@ -240,75 +221,362 @@ public class L170Analyzer
 
 	}
 	
- 	/**
- 	 * Creates the channel array so we can sort all of our events by channels.
- 	 */
-	private void createChannelArrays()
+	/**
+	 * Reads the events from a single line of the file and adds them to their channels.
+	 * 
+	 * @param line
+	 * @param table - the channel for each bit number
+	 * @param found - the array that any channels seen for the first time are added to
+	 */
+	private void readLine(String line, L170Channel[] table, Vector<L170Channel> found)
 	{
-		// Loop through each event that we found to create the channel data
-		for (L170Object o : events)
+		if (!line.equals(""))
 		{
-			// Create a temporary bit to hold the objects bit number
-			int bit = o.getBit();
-			
-			// Used in determining if we found a valid pin
-			boolean foundBit = false;
+			// Get the length of the line. This is used for extracting all the elements out
+			int maxLineLength = line.length();
 			
-			// Loop through all the channel objects we have so far
-			for (L170Channel c : channels)
-			{
-				// If that channel object exists, we change the found flag to true
-				if (c.getBit() == bit)
+			// Make sure that the starting character is not a '<' and that the length is greater than 10.
+			// If the length is less than 10, there is no event data
+			if (line.charAt(0) != '<' && line.length() > 10 || wantFirstLine)
+			{		
+				wantFirstLine = false;
+				
+				int timeStart = 2;
+				int addition = 0;
+				// ...Not sure what the point of this is at the moment - maybe one of the datafiles has a null character somewhere in it causing problems?
+				if (line.charAt(0) == '\0')
+				{
+					addition = 1;
+					timeStart = 3;
+				}
+				
+				// Get the bounds of the event data. The last two characters of the line are not part of the records.
+				int dataStart = dataStartIndex + addition;
+				int dataEnd = maxLineLength - 2;
+				
+				// Get the time element for the current set of events directly from its hex characters
+				int time = parseHex(line, timeStart, dataStart);
+
+				// Check to see if we need to calculate the offset for the time to start at 0
+				if (baseTime)
+				{
+					baseTimeValue = time;
+					baseTime = !baseTime;
+				}
+				
+				// Adjust the time so that it calculating from 0
+				int newTime = time - baseTimeValue;
+												
+				// Loop through all the data elements in the line, increasing a by 3 each time
+				// because the data elements are in groups of 3
+				for (int a = dataStart; a + 3 <= dataEnd; a+=3)
 				{
-					foundBit = true;
+					// Each record is 3 hex digits, which is 12 bits of data laid out as:
+					// 6 bits for the 60th time parameter, 1 bit for the state and 5 bits for the bit number
+					int record = parseHex(line, a, a + 3);
+					
+					// Retrieve the 60th time parameter from the top 6 bits
+					int sixty = record >> 6;
+					// Retrieve the state parameter from the 7th bit
+					int state = (record >> 5) & 0x1;
+					// Retrieve the bit parameter from the bottom 5 bits
+					int bit = record & 0x1F;
+					
+					// Add the event straight to its channel, creating the channel the first time it is seen
+					L170Channel c = table[bit];
+					
+					if (c == null)
+					{
+						c = new L170Channel(bit);
+						table[bit] = c;
+						found.add(c);
+					}
+					
+					// Add the event with the seconds and sixtieths converted to milliseconds
+					c.addObject(toMillis(newTime, sixty), state);
 				}
 			}
+		}
+	}
+	
+	/**
+	 * Converts the hex characters between start and end into an integer without creating any Strings.
+	 * 
+	 * @param line
+	 * @param start - index of the first hex character
+	 * @param end - index after the last hex character
+	 * @return
+	 */
+	private int parseHex(String line, int start, int end)
+	{
+		int value = 0;
+		
+		// Shift each nibble into place as we read the characters from left to right
+		for (int i = start; i < end; i++)
+		{
+			int nibble = Character.digit(line.charAt(i), 16);
 			
-			// If the found flag is false, we didn't find that bit anywhere
-			// so we need to add that channel object with the bit it will represent
-			if (!foundBit)
+			// Match the behavior of Integer.parseInt if the data is not valid hex
+			if (nibble < 0)
+				throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+			
+			value = (value << 4) | nibble;
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Converts the seconds and sixtieths of an event to milliseconds
+	 * 
+	 * @param time - Time in seconds
+	 * @param sixty - The number of sixtieths for the event
+	 * @return
+	 */
+	private int toMillis(int time, int sixty)
+	{
+		return (int)(((float)time * 1000) + ((float)sixty / (float)60) * 1000);
+	}
+	
+	/**
+	 * Reads the channels from the data file's cache if it is still valid. The channels in the cache were saved
+	 * after the start elements were inserted and they were sorted, so they are ready to use as they are.
+	 * 
+	 * @param cache
+	 * @return true if the channels were loaded from the cache
+	 */
+	private boolean loadCache(TransitionCache cache)
+	{
+		if (!cache.load())
+			return false;
+		
+		for (int i = 0; i < cache.getChannelCount(); i++)
+		{
+			channels.add(new L170Channel(cache.getBit(i), cache.getTransitions(i)));
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Saves the analyzed channels to the data file's cache so the next time it is opened it doesn't have to be parsed again
+	 * 
+	 * @param cache
+	 */
+	private void saveCache(TransitionCache cache)
+	{
+		int[] bits = new int[channels.size()];
+		TransitionStore[] transitions = new TransitionStore[channels.size()];
+		
+		for (int i = 0; i < channels.size(); i++)
+		{
+			bits[i] = channels.elementAt(i).getBit();
+			transitions[i] = channels.elementAt(i).getTransitions();
+		}
+		
+		cache.save(bits, transitions);
+	}
+	
+	/**
+	 * Inserts an element at the beginning of each channel's array for making the graphing easier
+	 * @param list - the channels to insert the element into
+	 */
+	private void insertStartElement(Vector<L170Channel> list)
+	{
+		// Loop through all of the channel objects
+		for (L170Channel c : list)
+		{
+			// Insert a new element at time 0, with the state opposite of the current start element.
+			// This will move all subsequent elements by +1
+			c.insertObject(0, 0, (c.getState(0) == 0) ? 1 : 0);
+			
+			// Loading has finished, so release any unused space in the channel's arrays
+			c.trimToSize();
+		}
+	}
+	
+	
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- L170 Follow Methods
+	
+	/**
+	 * Prepares the analyzer for reading lines that are added to the 170 file while it is still being recorded.
+	 * This must be called after performAnalysis and before readAppended. If the file was already being followed,
+	 * it carries on from where it left off.
+	 * 
+	 * @throws IOException
+	 */
+	public synchronized void startFollowing() throws IOException
+	{
+		if (followStarted)
+			return;
+		
+		// New events for the channels we already have are added to those channels
+		for (L170Channel c : channels)
+			channelTable[c.getBit()] = c;
+		
+		// If the channels were loaded from the cache, then the first line still has to be read for the base time
+		if (wantFirstLine)
+		{
+			BufferedReader fileReader = new BufferedReader(new FileReader(this.l170File));
+			
+			try
+			{
+				String line;
+				
+				// The events on the first line have already been loaded, so they are read into channels that are thrown away
+				while (wantFirstLine && (line = fileReader.readLine()) != null)
+					readLine(line, new L170Channel[32], new Vector<L170Channel>());
+			}
+			finally
 			{
-				channels.add(new L170Channel(bit));
+				fileReader.close();
 			}
 		}
+		
+		RandomAccessFile raf = new RandomAccessFile(this.l170File, "r");
+		
+		try
+		{
+			// A line that was still being written when the file was analyzed is read again once it has been finished
+			followPosition = C1Scanner.findLineStart(raf.getChannel(), Math.min(this.analyzedLength, raf.length()));
+			followStarted = true;
+		}
+		finally
+		{
+			raf.close();
+		}
 	}
-
+	
 	/**
-	 * Adds all of the events found in the analysis to each channel individually
+	 * Reads any lines that have been added to the 170 file since it was last read, adding the new events to the end of their channels.
+	 * Other threads can keep reading the channels while this runs.
+	 * 
+	 * @return true if any new lines were read
+	 * @throws IOException
 	 */
-	private void generateChannelData()
-	{	
-		// Loop through each Log 170 event we detected
-		for (L170Object o : events)
-		{			
-			// Loop through each channel we have found
-			for (L170Channel c : channels)
+	public synchronized boolean readAppended() throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(this.l170File, "r");
+		
+		// The new events are read into their own channels first so they can be checked before being added to the real ones.
+		// Lines that had already been started when the file was analyzed are kept apart from the lines that are completely new.
+		L170Channel[] appendedTable = new L170Channel[32];
+		Vector<L170Channel> appended = new Vector<L170Channel>();
+		L170Channel[] repeatedTable = new L170Channel[32];
+		Vector<L170Channel> repeated = new Vector<L170Channel>();
+		
+		try
+		{
+			long length = raf.length();
+			
+			// If the file got shorter, then it was replaced and has to be opened again
+			if (length < followPosition)
+				throw new IOException(this.l170File.getName() + " is shorter than the data that has already been loaded");
+			
+			if (length == followPosition)
+				return false;
+			
+			// Read what was added. Only complete lines are read, so a line that is still being written is left for next time.
+			byte[] data = new byte[(int) Math.min(length - followPosition, FOLLOW_READ_SIZE)];
+			raf.seek(followPosition);
+			raf.readFully(data);
+			
+			int lineStart = 0;
+			
+			for (int i = 0; i < data.length; i++)
 			{
-				// If the channel and bit parameters match, we cna add the event object to the channel's array
-				if (c.getBit() == o.getBit())
+				if (data[i] == '\n')
 				{
-					c.addObject(o);
+					// Drop the carriage return the same way that readLine() does
+					int lineEnd = (i > lineStart && data[i - 1] == '\r') ? i - 1 : i;
+					String line = new String(data, lineStart, lineEnd - lineStart);
+					
+					try
+					{
+						if (followPosition + lineStart < this.analyzedLength)
+							readLine(line, repeatedTable, repeated);
+						else
+							readLine(line, appendedTable, appended);
+					}
+					catch (RuntimeException e)
+					{
+						// A bad line is skipped so the rest of the file can still be followed
+						System.err.println("Unable to read line '" + line + "': " + e);
+					}
+					
+					lineStart = i + 1;
 				}
 			}
+			
+			followPosition += lineStart;
+			
+			if (lineStart == 0)
+				return false;
 		}
+		finally
+		{
+			raf.close();
+		}
+		
+		Vector<L170Channel> newChannels = new Vector<L170Channel>();
+		
+		// Add the new events to the end of their channels
+		addEvents(repeated, true, newChannels);
+		addEvents(appended, false, newChannels);
+		
+		// Prepare any new channels and then add them all to the channels array at once
+		if (newChannels.size() > 0)
+		{
+			insertStartElement(newChannels);
+			
+			Vector<L170Channel> updated = new Vector<L170Channel>(channels);
+			updated.addAll(newChannels);
+			Collections.sort(updated);
+			
+			channels = updated;
+		}
+		
+		// Count the new transitions for the activity overview
+		updateActivity();
+		
+		return true;
 	}
 	
+	
 	/**
-	 * Inserts an element at the beginning of the array for making the graphing easier
+	 * Adds the events that were read while following the file to the end of their channels.
+	 * 
+	 * @param read - the channels the events were read into
+	 * @param repeated - true if the events are from lines that had already been started when the file was analyzed
+	 * @param newChannels - the array that any channels seen for the first time are added to
 	 */
-	private void insertStartElement()
+	private void addEvents(Vector<L170Channel> read, boolean repeated, Vector<L170Channel> newChannels)
 	{
-		// Loop through all of the channel objects
-		for (L170Channel c : channels)
+		for (L170Channel a : read)
 		{
-			// Get the Log 170 Object currently at the start
-			L170Object o = c.getObjects().elementAt(0);
+			L170Channel c = channelTable[a.getBit()];
 			
-			// Create  new Log 170 Object at time 0, with the state opposite of the current start element
-			L170Object newObj = new L170Object(0, 0, (o.getState() == 0) ? 1 : 0, o.getBit());
+			// If this is the first time the channel has been seen, then the channel the events were read into can be used as it is
+			if (c == null)
+			{
+				channelTable[a.getBit()] = a;
+				newChannels.add(a);
+				continue;
+			}
 			
-			// Insert the new element at index 0. This will move all subsequent elements by +1
-			c.getObjects().insertElementAt(newObj, 0);
+			for (int i = 0; i < a.size(); i++)
+			{
+				long last = c.getMilli(c.size() - 1);
+				
+				// Anything before the channel's last event was already read when the file was analyzed.
+				// A line that had already been started can also repeat the last event.
+				if (a.getMilli(i) < last || (repeated && a.getMilli(i) == last && a.getState(i) == c.getState(c.size() - 1)))
+					continue;
+				
+				c.addObject(a.getMilli(i), a.getState(i));
+			}
 		}
 	}
 	
@@ -319,22 +587,45 @@ public class L170Analyzer
 	
 	/**
 	 * Get the graph events to be displayed. 
+	 * @param graphLines - Buffer the graph lines are added to
 	 * @param gw 		- Graph width in pixels
 	 * @param time 		- Current time being displayed
 	 * @param gSeconds 	- Graph width in seconds
 	 * @param channel 	- Channel to be retrieved
 	 * @param top		- Top Pixel Location
 	 * @param bottom	- Bottom Pixel Location
-	 * @return
 	 */
-	public Vector<Line> getGraphEvents(int gw, long time, double gSeconds, int channel, double top, double bottom)
+	public void getGraphEvents(LineBuffer graphLines, int gw, long time, double gSeconds, int channel, double top, double bottom)
+	{
+		// Find the pixels per millisecond, and the column of the left side of the graph
+		double scale = GraphLineBuilder.getScale(gw, gSeconds);
+		long left = GraphLineBuilder.getColumn(time - (gSeconds * 1000) / 2, scale);
+		
+		// Include the lines just off the left side that reach onto the graph
+		getGraphEvents(graphLines, scale, left - GraphLineBuilder.EDGE_COLUMNS, left + gw, left, channel, top, bottom);
+	}
+	
+	/**
+	 * Get the graph events to be displayed for a range of columns. Columns are counted from time 0, 
+	 * so this can be used to draw only part of a graph.
+	 * 
+	 * @param graphLines - buffer the graph lines are added to
+	 * @param scale - pixels per millisecond
+	 * @param first - first column to be retrieved
+	 * @param last - last column to be retrieved
+	 * @param origin - column that is drawn at pixel 0
+	 * @param channel - channel to be retrieved
+	 * @param top - graph top line pixel location
+	 * @param bottom - graph bottom line pixel location
+	 */
+	public void getGraphEvents(LineBuffer graphLines, double scale, long first, long last, long origin, int channel, double top, double bottom)
 	{
-		// This is the number of milliseconds that are being displayed
-		double difference = (gSeconds * 1000) / 2;
-
 		// Min and Max is the range of times being displayed on the graph
-		long min = (long) (time - difference);
-		long max = (long) (time + difference);
+		long min = GraphLineBuilder.getFirstTime(first, scale);
+		long max = GraphLineBuilder.getFirstTime(last + 1, scale) - 1;
+		
+		// Clear out the last lines, so nothing is drawn if the channel isn't found
+		graphLines.clear();
 		
 		// Loop through each of the channel objects to find which one we are going to use with the graph
 		for (L170Channel c : channels)
@@ -342,69 +633,52 @@ public class L170Analyzer
 			// If the channel we want matches the current channel, generate the graph objects for it
 			if (c.getBit() == channel)
 			{
-				createGraphObjects(gw, min, time, max, c.getStates(min, time, max), top, bottom);
+				// Find the range of states to be graphed, then generate the graph objects from it
+				int end = c.getEndIndex(max);
+				int start = Math.min(c.getStartIndex(min), end);
+				
+				GraphLineBuilder.createGraphLines(graphLines, scale, first, last, origin, c.getTransitions(), start, end, top, bottom);
 			}
 		}
-		
-		return graphLines;
 	}
 	
 	/**
-	 *  Creates the graph line objects to be drawn
+	 * Get the graph events to be displayed for several channels at once, over the same range of columns. 
+	 * The range of times is only worked out once, and the channels are only looped through once for all of them.
+	 * 
+	 * @param graphLines - buffers the graph lines are added to, one for each channel in the same order
+	 * @param scale - pixels per millisecond
+	 * @param first - first column to be retrieved
+	 * @param last - last column to be retrieved
+	 * @param origin - column that is drawn at pixel 0
+	 * @param bits - channels to be retrieved
+	 * @param top - graph top line pixel location
+	 * @param bottom - graph bottom line pixel location
 	 */
-	private void createGraphObjects(double gw, long min, long center, long max, Vector<L170Object> gObjects, double top, double bottom)
+	public void getGraphEvents(LineBuffer[] graphLines, double scale, long first, long last, long origin, int[] bits, double top, double bottom)
 	{
-		graphLines = new Vector<Line>();
+		// Min and Max is the range of times being displayed on the graph
+		long min = GraphLineBuilder.getFirstTime(first, scale);
+		long max = GraphLineBuilder.getFirstTime(last + 1, scale) - 1;
 		
-		// Used in helping figure out where the lines will be drawn at (represents milliseconds)
-		long timeBeingDisplayed = max - min;
-
-		// This gets reassigned as we loop through each of the objects to be drawn. 
-		long previousTime = max - min;
+		// Clear out the last lines, so nothing is drawn for a channel that isn't found
+		for (int i = 0; i < bits.length; i++)
+			graphLines[i].clear();
 		
-		// Loop through all of the objects to be graphed. 
-		// NOTE: These are listed in reverse order
-		for (int i = 0; i < gObjects.size(); i++)
+		// Loop through each of the channel objects, generating the graph objects for every buffer that wants it
+		for (L170Channel c : channels)
 		{
-			// Retrieve the object that is going to be drawn.
-			L170Object o = gObjects.elementAt(i);
-			
-			// Create variables to hold the line left and right positions;
-			double lineLeftPx = 0.0, lineRightPx = 0.0;
-			
-			// This returns the millisecond position of the line to be drawn
-			double lineLeft = (o.getMilli() - min);
-			// If lineLeft in pixels is less than 0, we don't need to draw anything less than that, so we reset it to 0.0
-			if (lineLeft < 0.0)
-				lineLeft = 0.0;
-			// Convert the lineLeft in milliseconds to pixels
-			if (lineLeft != 0.0)
-			{
-				// This takes the ratio of the graph width and the time window and assigns it to a pixel value
-				lineLeftPx = (gw / timeBeingDisplayed) * lineLeft;
-			}	
-			
-			// This returns the millisecond position of the line to be drawn
-			double lineRight = (previousTime * 1.0);
-			// This takes the ratio of the graph width and the time window and assigns it to a pixel value
-			lineRightPx = (gw / timeBeingDisplayed) * lineRight;
-			
-			// Get the location in pixels of where the horizontal line is to be drawn
-			// NOTE: With the java graphics api, point (0, 0) is located in the TOP LEFT of the screen, not bottom Left.
-			double horizontal = (o.getState() == 0) ? top : bottom;
-
-			// Create a new Line object and add it to the array to be return for drawing
-			graphLines.add(new Line((int)lineLeftPx, (int)horizontal, (int)lineRightPx, (int)horizontal));
-			
-			// If the current index is not 1 position smaller than the array size, we need to create a vertical line for it
-			if (i != gObjects.size() - 1)
+			for (int i = 0; i < bits.length; i++)
 			{
-				// Create a new vertical line object and add it to the array
-				graphLines.add(new Line((int)lineLeftPx, (int)bottom, (int)lineLeftPx, (int)top));
+				if (c.getBit() == bits[i])
+				{
+					// Find the range of states to be graphed, then generate the graph objects from it
+					int end = c.getEndIndex(max);
+					int start = Math.min(c.getStartIndex(min), end);
+					
+					GraphLineBuilder.createGraphLines(graphLines[i], scale, first, last, origin, c.getTransitions(), start, end, top, bottom);
+				}
 			}
-			
-			// Re-assign the previous time.
-			previousTime = o.getMilli() - min;
 		}
 	}
 	
@@ -417,9 +691,10 @@ public class L170Analyzer
 	 * Returns the next time value for the specific channel and state so that the user can jump to that location.
 	 * @param channel
 	 * @param state
+	 * @param currentTime - the time currently being displayed
 	 * @return
 	 */
-	public long returnNextTimeValueForEvent(int channel, int state)
+	public long returnNextTimeValueForEvent(int channel, int state, long currentTime)
 	{
 		long time = 0;
 		
@@ -429,16 +704,16 @@ public class L170Analyzer
 			// Check to make sure that the channel number matches the channel in question
 			if (c.getBit() == channel)
 			{
-				// We found the correct channel. Now lets get the index and determine its state
-				L170Object o = c.getObjects().elementAt(c.getCurrentJumpElementIndex());
+				// We found the correct channel. Now lets find the element at the current time and determine its state
+				int index = Math.max(c.getIndexAtTime(currentTime), 0);
 				
-				if (o.getState() == state)
+				if (c.getState(index) == state)
 				{
-					time = c.getObjects().elementAt(c.getCurrentJumpElementIndex() + 2).getMilli();
+					time = c.getMilli(Math.min(index + 2, c.size() - 1));
 				}
 				else
 				{
-					time = c.getObjects().elementAt(c.getCurrentJumpElementIndex() + 1).getMilli();
+					time = c.getMilli(Math.min(index + 1, c.size() - 1));
 				}
 			}
 		}
@@ -450,9 +725,10 @@ public class L170Analyzer
 	 * Returns the previous time value for the specific channel and state so that the user can jump to that location.
 	 * @param channel
 	 * @param state
+	 * @param currentTime - the time currently being displayed
 	 * @return
 	 */
-	public long returnPreviousTimeValueForEvent(int channel, int state)
+	public long returnPreviousTimeValueForEvent(int channel, int state, long currentTime)
 	{
 		long time = 0;
 		
@@ -462,16 +738,16 @@ public class L170Analyzer
 			// Check to make sure that the channel number matches the channel in question
 			if (c.getBit() == channel)
 			{
-				// We found the correct channel. Now lets get the index and determine its state
-				L170Object o = c.getObjects().elementAt(c.getCurrentJumpElementIndex());
+				// We found the correct channel. Now lets find the element at the current time and determine its state
+				int index = Math.max(c.getIndexAtTime(currentTime), 0);
 				
-				if (o.getState() == state)
+				if (c.getState(index) == state)
 				{
-					time = c.getObjects().elementAt((c.getCurrentJumpElementIndex() > 2) ? c.getCurrentJumpElementIndex() - 2 : 0).getMilli();
+					time = c.getMilli(Math.max(index - 2, 0));
 				}
 				else
 				{
-					time = c.getObjects().elementAt((c.getCurrentJumpElementIndex() > 1) ? c.getCurrentJumpElementIndex() - 1 : 0).getMilli();
+					time = c.getMilli(Math.max(index - 1, 0));
 				}
 			}
 		}
@@ -484,6 +760,26 @@ public class L170Analyzer
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	// -- L170 Getter Methods
 
+	/**
+	 * Counts any transitions that haven't been counted yet for the activity overview
+	 */
+	private void updateActivity()
+	{
+		for (L170Channel c : channels)
+		{
+			activity.update(c.getBit(), c.getTransitions());
+		}
+	}
+	
+	/**
+	 * Returns the number of transitions in each part of the session for every channel
+	 * @return
+	 */
+	public ActivityHistogram getActivity()
+	{
+		return activity;
+	}
+	
 	/**
 	 *  Returns an array with all of the channel numbers
 	 * @return
@@ -515,14 +811,99 @@ public class L170Analyzer
 		for (L170Channel c : channels)
 		{
 			// Retrieve the last object in the channel's event array
-			L170Object o = c.getObjects().lastElement();
+			long last = c.getMilli(c.size() - 1);
 			
-			// If the Log 170 Object's time is greater than the max found already,
+			// If the last element's time is greater than the max found already,
 			// Update the max time.
-			if (o.getMilli() > max)
-				max = o.getMilli();
+			if (last > max)
+				max = (int) last;
 		}
 		
 		return max;
 	}	
-}
\ No newline at end of file
+
+	
+	
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Limited Input Stream
+	
+	/**
+	 * Used for reading a file only up to a set length, as if the file ended there. The number of bytes read is added
+	 * to the progress, and reading throws an InterruptedIOException once the thread has been interrupted.
+	 */
+	private static class LimitedInputStream extends FilterInputStream
+	{
+		/**
+		 * The number of bytes that can still be read
+		 */
+		private long remaining;
+		
+		/**
+		 * Used for counting the bytes that have been read so far, so the progress can be shown while the file is loading
+		 */
+		private AtomicLong progress;
+		
+		public LimitedInputStream(InputStream in, long length, AtomicLong progress)
+		{
+			super(in);
+			
+			this.remaining = length;
+			this.progress = progress;
+		}
+		
+		@Override
+		public int read() throws IOException
+		{
+			if (remaining <= 0)
+				return -1;
+			
+			int b = super.read();
+			
+			if (b >= 0)
+			{
+				remaining--;
+				progress.incrementAndGet();
+			}
+			
+			return b;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			if (remaining <= 0)
+				return -1;
+			
+			// The file is read a buffer at a time, so this is where a load that was stopped is noticed
+			if (Thread.currentThread().isInterrupted())
+				throw new InterruptedIOException("Interrupted while reading");
+			
+			int read = super.read(b, off, (int) Math.min(len, remaining));
+			
+			if (read > 0)
+			{
+				remaining -= read;
+				progress.addAndGet(read);
+			}
+			
+			return read;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException
+		{
+			long skipped = super.skip(Math.min(n, remaining));
+			
+			remaining -= skipped;
+			
+			return skipped;
+		}
+		
+		@Override
+		public int available() throws IOException
+		{
+			return (int) Math.min(super.available(), remaining);
+		}
+	}
+}
@@ -0,0 +1,374 @@
+/**
+ * ****************************************************************
+ * File: 			TransitionCache.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To save the results of analyzing a data file to
+ * 					a binary file next to it, so the next time the
+ * 					same data file is opened the channels can be read
+ * 					straight back into memory instead of re-parsing
+ * 					all of the text. The cache is only used if the
+ * 					data file has not changed since it was written.
+ *
+ * ****************************************************************
+ */
+package analyzers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+import objects.TransitionStore;
+
+public class TransitionCache
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Cache Variable Declarations
+
+	/**
+	 * Identifies the file as a VideoSync cache file ("VSIX")
+	 */
+	private static final int MAGIC = 0x56534958;
+
+	/**
+	 * The version of the file layout. This must be changed any time the layout or the analysis results change.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * The number of bytes before the channel data: the magic number, version, data file key and channel count
+	 */
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 4;
+
+	/**
+	 * The extension that is added to the data file name. The cache file also starts with a '.' so that it
+	 * is treated as a hidden file and skipped when a directory is opened.
+	 */
+	private static final String EXTENSION = ".vsidx";
+
+	/**
+	 * The size of each block of the data file that is read for the content hash, and the number of blocks to read
+	 */
+	private static final int HASH_BLOCK_SIZE = 64 * 1024;
+	private static final int HASH_BLOCK_COUNT = 16;
+
+	/**
+	 * Used for referencing the data file and the cache file that goes with it
+	 */
+	private File source;
+	private File cache;
+
+	/**
+	 * Used for storing the key of the data file at the time the cache object was created
+	 */
+	private long sourceLength;
+	private long sourceModified;
+	private long sourceHash;
+
+	/**
+	 * Used for storing the channels that were read from the cache file
+	 */
+	private int[] bits;
+	private TransitionStore[] transitions;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Cache Construction
+
+	/**
+	 * Creates the cache for a data file and records the data file's key so it can be compared with the cache file.
+	 * @param source
+	 */
+	public TransitionCache(File source)
+	{
+		this.source = source;
+		this.cache = new File(source.getAbsoluteFile().getParentFile(), "." + source.getName() + EXTENSION);
+
+		this.sourceLength = source.length();
+		this.sourceModified = source.lastModified();
+
+		try
+		{
+			this.sourceHash = hashSource();
+		}
+		catch (IOException e)
+		{
+			// If the data file can't be read for the hash, then it can't be parsed either. Use a hash that will never match.
+			this.sourceHash = -1;
+		}
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Cache Methods
+
+	/**
+	 * Reads the channels from the cache file.
+	 * Returns false if there is no cache file, or it was written for a different version of the data file.
+	 * @return
+	 */
+	public boolean load()
+	{
+		if (!cache.isFile() || sourceHash == -1)
+			return false;
+
+		try
+		{
+			RandomAccessFile raf = new RandomAccessFile(cache, "r");
+
+			try
+			{
+				FileChannel channel = raf.getChannel();
+
+				// Read the header first, so the file is only mapped into memory if it can actually be used
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				readFully(channel, header, 0);
+				header.flip();
+
+				// Make sure the cache file belongs to the data file as it is now
+				if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION
+						|| header.getLong() != sourceLength || header.getLong() != sourceModified || header.getLong() != sourceHash)
+					return false;
+
+				int channelCount = header.getInt();
+				long size = channel.size();
+
+				// Every channel takes at least its 8 byte header, so a count that couldn't fit in the file means it is damaged.
+				// This is checked before anything is allocated, so a damaged count can't run out of memory.
+				if (channelCount < 0 || HEADER_SIZE + channelCount * 8L > size)
+					return false;
+
+				int[] loadedBits = new int[channelCount];
+				TransitionStore[] loadedTransitions = new TransitionStore[channelCount];
+
+				ByteBuffer channelHeader = ByteBuffer.allocate(8);
+				long position = HEADER_SIZE;
+
+				// Copy each channel's arrays straight out of the mapped file. Each array is mapped on its own
+				// so that a cache file larger than a single mapping can still be read.
+				for (int i = 0; i < channelCount; i++)
+				{
+					channelHeader.clear();
+					readFully(channel, channelHeader, position);
+					channelHeader.flip();
+
+					if (channelHeader.remaining() < 8)
+						return false;
+
+					loadedBits[i] = channelHeader.getInt();
+					int count = channelHeader.getInt();
+					position += 8;
+
+					// Each transition takes 9 bytes, 8 for the time and 1 for the state
+					if (count < 0 || position + count * 9L > size)
+						return false;
+
+					long[] times = new long[count];
+					byte[] states = new byte[count];
+
+					MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, count * 8L);
+					buffer.asLongBuffer().get(times);
+					position += count * 8L;
+
+					buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, count);
+					buffer.get(states);
+					position += count;
+
+					loadedTransitions[i] = new TransitionStore(times, states);
+				}
+
+				bits = loadedBits;
+				transitions = loadedTransitions;
+
+				return true;
+			}
+			finally
+			{
+				raf.close();
+			}
+		}
+		catch (IOException e)
+		{
+			// A truncated or unreadable cache file is treated the same as a missing one
+			System.err.println("Ignoring cache file " + cache.getName() + ": " + e);
+		}
+		catch (RuntimeException e)
+		{
+			// A damaged cache file is treated the same as a missing one
+			System.err.println("Ignoring damaged cache file " + cache.getName() + ": " + e);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Writes the channels to the cache file. The file is written under a temporary name first so that a
+	 * partially written cache is never read. Any errors are reported but otherwise ignored, since the data
+	 * can always be parsed again.
+	 *
+	 * @param channelBits - the bit number of each channel
+	 * @param channelTransitions - the transitions of each channel
+	 */
+	public void save(int[] channelBits, TransitionStore[] channelTransitions)
+	{
+		if (sourceHash == -1)
+			return;
+
+		File temp = new File(cache.getParentFile(), cache.getName() + ".tmp");
+
+		try
+		{
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16));
+
+			try
+			{
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(sourceLength);
+				out.writeLong(sourceModified);
+				out.writeLong(sourceHash);
+				out.writeInt(channelBits.length);
+
+				for (int i = 0; i < channelBits.length; i++)
+				{
+					TransitionStore t = channelTransitions[i];
+					int count = t.size();
+
+					out.writeInt(channelBits[i]);
+					out.writeInt(count);
+
+					for (int j = 0; j < count; j++)
+						out.writeLong(t.getMilli(j));
+
+					for (int j = 0; j < count; j++)
+						out.writeByte(t.getState(j));
+				}
+			}
+			finally
+			{
+				out.close();
+			}
+
+			// Replace any old cache file with the new one
+			if (cache.exists() && !cache.delete())
+				throw new IOException("Unable to replace " + cache.getName());
+
+			if (!temp.renameTo(cache))
+				throw new IOException("Unable to rename " + temp.getName());
+		}
+		catch (IOException e)
+		{
+			// The directory may be read only, in which case the data will just be parsed every time
+			System.err.println("Unable to write cache file for " + source.getName() + ": " + e.getMessage());
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Returns the length the data file had when the cache object was created
+	 * @return
+	 */
+	public long getSourceLength()
+	{
+		return sourceLength;
+	}
+
+	/**
+	 * Returns the number of channels that were read from the cache file
+	 * @return
+	 */
+	public int getChannelCount()
+	{
+		return bits.length;
+	}
+
+	/**
+	 * Returns the bit number of the channel at the index
+	 * @param index
+	 * @return
+	 */
+	public int getBit(int index)
+	{
+		return bits[index];
+	}
+
+	/**
+	 * Returns the transitions of the channel at the index
+	 * @param index
+	 * @return
+	 */
+	public TransitionStore getTransitions(int index)
+	{
+		return transitions[index];
+	}
+
+	/**
+	 * Calculates a hash from blocks spread evenly through the data file, including the first and last blocks.
+	 * Together with the length and modified time, this catches a data file that was replaced or edited
+	 * without having to read the whole file.
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	private long hashSource() throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(source, "r");
+
+		try
+		{
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+
+			CRC32 crc = new CRC32();
+			ByteBuffer buffer = ByteBuffer.allocate(HASH_BLOCK_SIZE);
+
+			for (int i = 0; i < HASH_BLOCK_COUNT; i++)
+			{
+				// Spread the blocks out so the first one starts at the beginning and the last one ends at the end of the file
+				long position = Math.max(0, (size - HASH_BLOCK_SIZE) * i / (HASH_BLOCK_COUNT - 1));
+
+				buffer.clear();
+				readFully(channel, buffer, position);
+
+				crc.update(buffer.array(), 0, buffer.position());
+			}
+
+			return crc.getValue();
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Reads from the file until the buffer is full or the end of the file is reached
+	 * @param channel
+	 * @param buffer
+	 * @param position
+	 * @throws IOException
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			int read = channel.read(buffer, position);
+
+			if (read <= 0)
+				break;
+
+			position += read;
+		}
+	}
+}
@@ -11,6 +11,7 @@
  * ****************************************************************
  */package commands;
 
+import commands.menu.CommandFollow;
 import commands.menu.CommandImport;
 import commands.menu.CommandInputMapping;
 import commands.menu.CommandOpen;
@@ -96,6 +97,11 @@ public class CommandList
 	 */
 	private CommandWindowFront cwf;			
 	
+	/**
+	 * Command to follow the data files for new data while they are still being recorded
+	 */
+	private CommandFollow cf;
+	
 	
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -147,6 +153,9 @@ public class CommandList
 	
 		// Create the Command Window Front Object
 		cwf = new CommandWindowFront();
+		
+		// Create the Command Follow Object
+		cf = new CommandFollow();
 
 		// The following setTargets commands require a data model and a graph object.
 		// These are passed from the Constructor's parameters.
@@ -186,6 +195,9 @@ public class CommandList
 		
 		// Set the target for Command Window Front
 		cwf.setTargets(dm);
+		
+		// Set the target for Command Follow
+		cf.setTargets(dm);
 	}
 	
 	
@@ -301,4 +313,13 @@ public class CommandList
 	{
 		return this.cwf;
 	}
+	
+	/**
+	 * Returns the CommandFollow Object
+	 * @return
+	 */
+	public CommandFollow getCommandFollow()
+	{
+		return this.cf;
+	}
 }
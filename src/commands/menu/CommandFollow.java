@@ -0,0 +1,63 @@
+/**
+ * ****************************************************************
+ * File: 			CommandFollow.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ * 
+ * Purpose:			To handle an action request from the menu to 
+ * 					turn following the data files for new data on
+ * 					or off while they are still being recorded.
+ * 
+ * ****************************************************************
+ */
+package commands.menu;
+
+import java.awt.event.ActionEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.AbstractButton;
+
+import models.DataModel;
+
+public class CommandFollow extends AbstractAction
+{
+	private static final long serialVersionUID = 1L;
+
+	
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Command Follow Variable Declarations
+	
+	/**
+	 * Used to reference and notify the DataModel of any changes
+	 */
+	private DataModel dm;
+
+	
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Command Follow Methods
+
+	/**
+	 * Sets the references to the DataModel
+	 * @param dm
+	 */
+	public void setTargets(DataModel dm)
+	{
+		this.dm = dm;
+	}
+
+	
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Command Follow Action Methods
+	
+	/**
+	 * Called when the user selects the "Follow Data Files" option from the Tools menu.
+	 */
+	public void actionPerformed(ActionEvent ae)
+	{
+		// The menu item is a check box, so follow the files as long as it is checked
+		this.dm.setFollowing(((AbstractButton)ae.getSource()).isSelected());
+	}
+}
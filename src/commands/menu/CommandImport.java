@@ -24,6 +24,7 @@ import objects.ImportFilter;
 import views.tabbed_panels.DataWindow;
 
 import models.DataModel;
+import threads.ThreadIngest;
 
 public class CommandImport extends AbstractAction 
 {
@@ -103,20 +104,20 @@ public class CommandImport extends AbstractAction
 				extension = file.getName().substring(extensionStart + 1);
 			}
 			
-			// If our extension is a c1 file, then we tell the data model to load the c1 file.
+			// If our extension is a c1 file, then we analyze the c1 file in the background.
 			if (extension.equalsIgnoreCase("c1"))
 			{
-				dm.setC1Data(file);
+				new ThreadIngest(dm, g, null, file, null).start();
 			}
-			// If our extension is a c1 file, then we tell the data model to load the c1 file.
+			// If our extension is a c1 maxim file, then we analyze the c1 maxim file in the background.
 			else if (extension.equalsIgnoreCase("c1max"))
 			{
-				dm.setC1MaximData(file);
+				new ThreadIngest(dm, g, null, null, file).start();
 			}
-			// If our extension is a 170 file, then we tell the data model to load the 170 file.
+			// If our extension is a 170 file, then we analyze the 170 file in the background.
 			else if (extension.equalsIgnoreCase("vsc") || extension.equalsIgnoreCase("log") || extension.equalsIgnoreCase("dat"))
 			{
-				dm.set170Data(file);
+				new ThreadIngest(dm, g, file, null, null).start();
 			}
 			// If our extension is a mov file, then we tell the data model to load the mov file.
 			// FIXME: This also should include all of the additional movie formats that can be used by VLC
@@ -14,12 +14,14 @@ package commands.menu;
 
 import java.awt.event.ActionEvent;
 import java.io.File;
+import java.util.Vector;
 
 import javax.swing.AbstractAction;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 
 import models.DataModel;
+import threads.ThreadIngest;
 import views.tabbed_panels.DataWindow;
 
 public class CommandOpen extends AbstractAction
@@ -66,6 +68,16 @@ public class CommandOpen extends AbstractAction
 	 */
 	private File c1;
 
+	/**
+	 * Used for confirming we found a C1 Maxim data file.
+	 */
+	private File c1max;
+
+	/**
+	 * Used for storing the video files that were found so they can be opened while the data is analyzed.
+	 */
+	private Vector<File> videos = new Vector<File>();
+
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -106,6 +118,14 @@ public class CommandOpen extends AbstractAction
 			if (dm.isDataLoaded())
 				dm.removeAllData();
 			
+			// Forget any files that were found the last time a directory was opened.
+			mpf = null;
+			dat = null;
+			vbm = null;
+			c1 = null;
+			c1max = null;
+			videos.clear();
+			
 			// Get the file that was selected by the user.
 			File file = fc.getSelectedFile();
 			
@@ -140,10 +160,10 @@ public class CommandOpen extends AbstractAction
 			}
 		}
 		
-		// If the data file is null and the c1 file is null,
+		// If the data file is null and the c1 files are null,
 		// we need to notify the user that there was an error finding the file
 		// and allow them to choose a data file from elsewhere.
-		if (dat == null && c1 == null)
+		if (dat == null && c1 == null && c1max == null)
 			displayDataError();
 		
 		// If the mapping file and vbm file is null, 
@@ -152,21 +172,19 @@ public class CommandOpen extends AbstractAction
 		if (mpf == null && vbm == null)
 			displayMappingError();
 		
-		// Note: We don't use an if/else statement here because if both a
-		// c1 file and log 170 file were found, we want to load them both 
-		// up. Doing an if/else will only load one of them.
+		// Analyze all of the data files at the same time in the background. The data model is
+		// updated with all of them at once when they have finished.
+		// Note: We want to load every data file that was found, not just one of them.
+		new ThreadIngest(this.dm, g, dat, c1, c1max).start();
 		
-		// If the dat file is not null, then have the data model load it.
-		if (dat != null)
+		// Open the videos while the data is being analyzed. The video players are Swing windows,
+		// so they are created here on the event dispatch thread.
+		for (File video : videos)
 		{
-			this.dm.set170Data(dat);
+			this.dm.addVideoFile(video);
 		}
 		
-		// If the c1 file is not null, then have the data model load it.
-		if (c1 != null)
-		{
-			this.dm.setC1Data(c1);
-		}
+		videos.clear();
 	}
 	
 	/**
@@ -210,7 +228,7 @@ public class CommandOpen extends AbstractAction
 					
 					// If either the dat file or c1 file has been found, 
 					// we can exit the while loop and continue on loading data.
-					if (dat != null || c1 != null)
+					if (dat != null || c1 != null || c1max != null)
 					{
 						finished = true;
 					}
@@ -301,15 +319,21 @@ public class CommandOpen extends AbstractAction
 		{
 			this.dat = file;
 		}
+		// If the file is a c1 maxim file, then set the local variable for the c1 maxim file.
+		// NOTE: This has to be checked before the c1 file since the extension also contains ".c1"
+		else if (file.getName().contains(".c1max"))
+		{
+			this.c1max = file;
+		}
 		// If the file is a c1 file, then set the local variable for the c1 file.
 		else if (file.getName().contains(".c1"))
 		{
 			this.c1 = file;
 		}
-		// If the file is a mvoie file, then set the local variable for the movie file.
+		// If the file is a movie file, then add it to the videos to be opened.
 		else if (file.getName().contains(".mov"))
 		{
-			this.dm.addVideoFile(file);
+			this.videos.add(file);
 		}
 	}
 }
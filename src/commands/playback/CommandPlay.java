@@ -20,6 +20,7 @@ import javax.swing.JButton;
 import javax.swing.Timer;
 
 import models.DataModel;
+import objects.PlaybackClock;
 
 public class CommandPlay extends AbstractAction implements Observer 
 {
@@ -34,6 +35,11 @@ public class CommandPlay extends AbstractAction implements Observer
 	 * Sets the base timing rate to play the graphs at 1/30th of a second.
 	 */
 	private final double baseRate = (1.0 / 30.0) * 1000;
+	
+	/**
+	 * The number of milliseconds between checking that the videos are still at the same position as the graphs
+	 */
+	private static final long SYNC_INTERVAL = 1000;
 
 	/**
 	 * Used to reference to the DataModel
@@ -46,14 +52,21 @@ public class CommandPlay extends AbstractAction implements Observer
 	private Timer playTimer;
 	
 	/**
-	 * Sets the initial timer speed to the same as the base rate.
+	 * Used for working out the playback position from the time that has passed since playback started. 
+	 * The timer only decides how often the graphs are updated, not how far they move.
+	 */
+	private PlaybackClock clock = new PlaybackClock();
+	
+	/**
+	 * Used for remembering the last position this set, so a position set by anything else while playing
+	 * (such as the slider) can be found and the clock moved to it.
 	 */
-	private double timerSpeed = baseRate;
+	private long lastPosition;
 	
 	/**
-	 * TODO: Figure out what this was used for.
+	 * Used for keeping track of when the videos were last checked against the graphs
 	 */
-	private boolean update = false;
+	private long lastSync;
 	
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -66,7 +79,7 @@ public class CommandPlay extends AbstractAction implements Observer
 	public CommandPlay()
 	{		
 		// Create the new Timer Instance and set its duration and caller
-		playTimer = new Timer((int)timerSpeed, this);
+		playTimer = new Timer((int)baseRate, this);
 		
 		// Immediately pause the timer so that it isn't running upon startup
 		playTimer.stop();
@@ -110,31 +123,49 @@ public class CommandPlay extends AbstractAction implements Observer
 			if (this.dm.isPlaying())
 			{
 				playTimer.stop();
+				clock.stop();
 				this.dm.setPlaying(false);
-				update = false;
 			}
 			else
 			{
+				// Start the clock from where the data is now
+				lastPosition = this.dm.getCurrentPosition();
+				lastSync = System.currentTimeMillis();
+				clock.start(lastPosition);
+				
 				playTimer.start();
 				this.dm.setPlaying(true);
 			}
+			
+			return;
 		}
 		
 		// If the data model is currently playing, then update the graphs position.
 		if (this.dm.isPlaying())
 		{
-			// Get the last time value of the graph data
-			long lastPos = this.dm.getCurrentPosition();
+			// If something else moved the position since the last tick, then continue playing from there
+			if (this.dm.getCurrentPosition() != lastPosition)
+				clock.setPosition(this.dm.getCurrentPosition());
+			
+			// Get the position from the time that has passed, rather than adding the timer's delay to the last position
+			long newPos = clock.getPosition();
 			
-			// Calculate a new time value based on the last time value and the value of the timer speed.
-			long newPos = lastPos + (int)timerSpeed;
-						
-			// TODO: Look into why we used an update flag here. This might be able to be removed.
-			if (update)
+			if (newPos != lastPosition)
+			{
+				lastPosition = newPos;
+				
 				// Update the current position of the graph window to the one we have calculated.
 				this.dm.setCurrentPosition(newPos, false);
-			else
-				update = true;
+			}
+			
+			// Every so often, correct any videos that have drifted away from the graphs
+			long now = System.currentTimeMillis();
+			
+			if (now - lastSync >= SYNC_INTERVAL)
+			{
+				lastSync = now;
+				this.dm.syncVideos(newPos);
+			}
 		}
 	}
 
@@ -152,8 +183,8 @@ public class CommandPlay extends AbstractAction implements Observer
 		// Otherwise we can just ignore it.
 		if (arg1 instanceof Double)
 		{
-			// Update the timer speed based on the base time value and the parameter passed.
-			timerSpeed = baseRate * (Double)arg1;
+			// Update how fast the clock moves. The time already played at the old rate is kept.
+			clock.setRate((Double)arg1);
 		}
 	}
 }
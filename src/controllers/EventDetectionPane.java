@@ -30,6 +30,7 @@ import javax.swing.JRadioButton;
 import javax.swing.SwingConstants;
 import javax.swing.border.BevelBorder;
 
+import models.DataModelChange;
 import models.DataModelProxy;
 
 import java.awt.Dimension;
@@ -241,6 +242,10 @@ public class EventDetectionPane extends JPanel implements Observer, ActionListen
 			if (dmp == null)
 				dmp = (DataModelProxy)arg;
 			
+			// Only the data being loaded changes which items are enabled, so all other changes are skipped.
+			if (!((DataModelProxy)arg).hasChanged(DataModelChange.DATA_LOADED))
+				return;
+			
 			// Check to see if we loaded data successfully into the DataModel
 			// If there is data loaded in the data model, then we can enable all the UI elements.
 			// Otherwise we disable everything until data is loaded.
@@ -30,6 +30,7 @@ import javax.swing.border.BevelBorder;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import models.DataModelChange;
 import models.DataModelProxy;
 import threads.ThreadSkip;
 
@@ -134,6 +135,7 @@ public class PlaybackPane extends JPanel implements Observer, MouseListener, Cha
 		slider_MoviePosition = new JSlider();
 		slider_MoviePosition.setEnabled(false);
 		slider_MoviePosition.addMouseListener(this);
+		slider_MoviePosition.addChangeListener(this);
 		slider_MoviePosition.setValue(0);
 		slider_MoviePosition.setMaximum(80);
 		slider_MoviePosition.setBounds(75, 0, 337, 29);
@@ -339,6 +341,10 @@ public class PlaybackPane extends JPanel implements Observer, MouseListener, Cha
 			if (dmp == null)
 				dmp = (DataModelProxy)arg;
 		
+			// The controls only show the position and the data, so any other changes can be skipped
+			if (!((DataModelProxy)arg).hasChanged(DataModelChange.POSITION, DataModelChange.DATA_LOADED))
+				return;
+			
 			// Check to see if we loaded data successfully into the DataModel
 			// If there is data loaded in the data model, then we can enable all the UI elements.
 			// Otherwise we disable everything until data is loaded.
@@ -387,6 +393,13 @@ public class PlaybackPane extends JPanel implements Observer, MouseListener, Cha
 			// Set the playback rate to the value of the slider
 			this.dmp.setPlaybackRate((float)((JSlider)e.getSource()).getValue());
 		}
+		// If the source is the movie position slider and the user is dragging it, show the videos' thumbnails
+		// for the slider's value. The videos are only moved once the slider is let go in mouseReleased.
+		else if (e.getSource() == slider_MoviePosition)
+		{
+			if (slider_MoviePosition.getValueIsAdjusting() && dmp != null && !dmp.isPlaying())
+				this.dmp.previewSliderPosition(slider_MoviePosition.getValue());
+		}
 	}
 	
 	/**
@@ -19,16 +19,24 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Observable;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 
 import objects.DeviceInputMap;
 import objects.c1.C1Channel;
-import objects.graphs.Line;
+import objects.graphs.ActivityHistogram;
+import objects.graphs.LineBuffer;
 import objects.log170.L170Channel;
+import threads.ThreadFollow;
 import views.videos.VideoPlayer;
 import analyzers.C1Analyzer;
 import analyzers.C1Maxim;
@@ -73,18 +81,20 @@ public class DataModel extends Observable
 	
 	/**
 	 * Stores a reference to the c1 analyzer
+	 * 
+	 * NOTE: The analyzers are volatile because the graph render thread reads them while new data is being loaded.
 	 */
-	private C1Analyzer c1Analyzer;
+	private volatile C1Analyzer c1Analyzer;
 
 	/**
 	 * Stores a reference to the c1 analyzer
 	 */
-	private C1Maxim c1MaximAnalyzer;
+	private volatile C1Maxim c1MaximAnalyzer;
 
 	/**
 	 * Stores a reference to the 170 analyzer
 	 */
-	private L170Analyzer l170Analyzer;
+	private volatile L170Analyzer l170Analyzer;
 		
 	/**
 	 * Stores a list of all devices that can be used with the program
@@ -164,6 +174,33 @@ public class DataModel extends Observable
 	 * Stores the VLC path to be used with the VideoPlayers
 	 */
 	private String vlcPath;
+	
+	/**
+	 * Used for indicating if the data files should be followed for new data while they are still being recorded
+	 */
+	private boolean following = false;
+	
+	/**
+	 * Used for reading new data from the files while they are being followed
+	 */
+	private ThreadFollow followThread;
+	
+	/**
+	 * Used for sending the observers a proxy for each kind of change, so a new proxy doesn't need to be created
+	 * for every notification. A proxy only holds a reference to this class and the change it was sent for.
+	 */
+	private EnumMap<DataModelChange, DataModelProxy> changeProxies = new EnumMap<DataModelChange, DataModelProxy>(DataModelChange.class);
+	private DataModelProxy allChangesProxy = new DataModelProxy(this, EnumSet.allOf(DataModelChange.class));
+	
+	/**
+	 * Used for keeping the video players at the playback position while playing
+	 */
+	private VideoSyncEngine syncEngine = new VideoSyncEngine();
+	
+	/**
+	 * The longest number of milliseconds to wait for the master video to report that it has paused
+	 */
+	private static final long PAUSE_TIMEOUT = 500;
 
 	
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -178,6 +215,10 @@ public class DataModel extends Observable
 	{
 		// Set the local VLC path variable to the one passed
 		this.vlcPath = vlcPath;
+		
+		// Create the proxy for each kind of change ahead of time, since the notifications can come from more than one thread
+		for (DataModelChange change : DataModelChange.values())
+			changeProxies.put(change, new DataModelProxy(this, EnumSet.of(change)));
 
 		// Initialize the C1 Analyzer
 		// FIXME: This should be moved to where the loading of the c1 data is actually done
@@ -236,6 +277,9 @@ public class DataModel extends Observable
 	 */
 	public void removeAllData()
 	{	
+		// Stop reading new data from the files that are being replaced
+		stopFollowing();
+		
 		// If the deviceList has more than 1 element in it, reinitialize the array
 		if (deviceList.size() > 1)
 			initDeviceList();
@@ -246,6 +290,7 @@ public class DataModel extends Observable
 		
 		// Reinitialize all of the array objects that contain data to be used
 		videoPlayers = new Vector<VideoPlayer>();
+		syncEngine = new VideoSyncEngine();
 		c1Data = new Vector<C1Channel>();
 		l170Data = new Vector<L170Channel>();
 		c1InputMap = new Vector<DeviceInputMap>();
@@ -515,30 +560,217 @@ public class DataModel extends Observable
 		return devices;
 	}
 
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Data Model: Session Data Methods
+	
+	/**
+	 * Publishes the results of analyzing a set of data files. Any of the analyzers can be null if that type of file was not loaded.
+	 * 
+	 * All of the analyzers are swapped in together and the observers are only notified once, so the views never see a partially
+	 * loaded session. This must be called from the event dispatch thread because the observers update Swing components.
+	 * 
+	 * @param l170Analyzer - analysis of the 170 file
+	 * @param logFile - the 170 file that was analyzed
+	 * @param c1Analyzer - analysis of the C1 file
+	 * @param c1MaximAnalyzer - analysis of the C1 Maxim file
+	 */
+	public void setSessionData(L170Analyzer l170Analyzer, File logFile, C1Analyzer c1Analyzer, C1Maxim c1MaximAnalyzer)
+	{
+		// Track the duration of the longest data set. An import only replaces one kind of data, so start from the data that is
+		// already loaded and isn't being replaced, otherwise importing a short file would shrink the slider.
+		int maxTime = 0;
+		
+		if (l170Analyzer == null && deviceList.contains("170"))
+			maxTime = Math.max(maxTime, this.l170Analyzer.getMaxTimeInMillis());
+		
+		if (c1Analyzer == null && deviceList.contains("C1"))
+			maxTime = Math.max(maxTime, this.c1Analyzer.getMaxTimeInMillis());
+		
+		if (c1MaximAnalyzer == null && deviceList.contains("Maxim"))
+			maxTime = Math.max(maxTime, this.c1MaximAnalyzer.getMaxTimeInMillis());
+		
+		if (l170Analyzer != null)
+		{
+			set170Data(l170Analyzer, logFile);
+			maxTime = Math.max(maxTime, l170Analyzer.getMaxTimeInMillis());
+		}
+		
+		if (c1Analyzer != null)
+		{
+			setC1Data(c1Analyzer);
+			maxTime = Math.max(maxTime, c1Analyzer.getMaxTimeInMillis());
+		}
+		
+		if (c1MaximAnalyzer != null)
+		{
+			setC1MaximData(c1MaximAnalyzer);
+			maxTime = Math.max(maxTime, c1MaximAnalyzer.getMaxTimeInMillis());
+		}
+		
+		// If nothing was loaded, then there is nothing to tell the observers about
+		if (l170Analyzer == null && c1Analyzer == null && c1MaximAnalyzer == null)
+			return;
+		
+		// Set the duration of the data from the analysis.
+		this.maxTimeInMillis = maxTime;
+		
+		// Indicate that we have a change to all of the observers
+		setChanged();
+		
+		// Notify any observers that respond directly to the Vector for the device list
+		notifyObservers(getDeviceList());
+		
+		// Notify all observers of other changes
+		notifyObservers();
+		
+		// Start following the new files if the user asked for it
+		if (following)
+			startFollowing();
+	}
+	
+	/**
+	 * Called from the event dispatch thread after new data has been read from the files that are being followed.
+	 * Extends the duration of the data and lets the observers update from the new data without resetting anything.
+	 */
+	public void dataAppended()
+	{
+		// The new data can only make the data longer
+		int maxTime = this.maxTimeInMillis;
+		
+		if (deviceList.contains("170"))
+			maxTime = Math.max(maxTime, l170Analyzer.getMaxTimeInMillis());
+		
+		if (deviceList.contains("C1"))
+			maxTime = Math.max(maxTime, c1Analyzer.getMaxTimeInMillis());
+		
+		this.maxTimeInMillis = maxTime;
+		
+		// Channels that changed for the first time need to be added to the input maps so they can be graphed
+		boolean newChannels = false;
+		
+		if (deviceList.contains("170"))
+			newChannels |= addNewChannels(l170InputMap, "170");
+		
+		if (deviceList.contains("C1"))
+			newChannels |= addNewChannels(c1InputMap, "C1");
+		
+		if (newChannels)
+		{
+			setChanged();
+			notifyObservers("Input");
+		}
+		
+		// Notify all observers so the slider and graphs include the new data
+		notifyObservers(newChannels ? EnumSet.of(DataModelChange.DATA_LOADED, DataModelChange.INPUT_MAP) : EnumSet.of(DataModelChange.DATA_LOADED));
+	}
+	
+	/**
+	 * Adds any channels of the device that are not in the input map yet, keeping the input map in channel order.
+	 * 
+	 * @param inputMap
+	 * @param device
+	 * @return true if any channels were added
+	 */
+	private boolean addNewChannels(Vector<DeviceInputMap> inputMap, String device)
+	{
+		boolean added = false;
+		
+		for (int channel : getChannelListForDevice(device))
+		{
+			int index = 0;
+			
+			// Find where the channel belongs in the input map
+			while (index < inputMap.size() && inputMap.elementAt(index).getBitNumber() < channel)
+				index++;
+			
+			// If the channel isn't in the input map, then add it there
+			if (index == inputMap.size() || inputMap.elementAt(index).getBitNumber() != channel)
+			{
+				inputMap.add(index, new DeviceInputMap(channel));
+				added = true;
+			}
+		}
+		
+		return added;
+	}
+	
+	/**
+	 * Sets whether the data files should be followed for new data while they are still being recorded.
+	 * @param following
+	 */
+	public void setFollowing(boolean following)
+	{
+		this.following = following;
+		
+		// Start or stop following the files that are currently loaded
+		if (following)
+			startFollowing();
+		else
+			stopFollowing();
+	}
+	
+	/**
+	 * Returns whether the data files are being followed for new data
+	 * @return
+	 */
+	public boolean isFollowing()
+	{
+		return this.following;
+	}
+	
+	/**
+	 * Starts a thread that reads new data from the 170 and C1 files that are loaded, replacing any thread that was already running.
+	 */
+	private void startFollowing()
+	{
+		stopFollowing();
+		
+		L170Analyzer followed170 = deviceList.contains("170") ? l170Analyzer : null;
+		C1Analyzer followedC1 = deviceList.contains("C1") ? c1Analyzer : null;
+		
+		// If neither file is loaded, then there is nothing to follow yet
+		if (followed170 == null && followedC1 == null)
+			return;
+		
+		followThread = new ThreadFollow(this, followed170, followedC1);
+		followThread.start();
+	}
+	
+	/**
+	 * Stops the thread that reads new data from the files, if it is running.
+	 */
+	private void stopFollowing()
+	{
+		if (followThread != null)
+		{
+			followThread.stopThread();
+			followThread = null;
+		}
+	}
+	
+	
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	// -- Data Model: C1 Data Methods
 	
 	/**
-	 * Set the C1 data file and run the analysis on it.
-	 * @param c1File
+	 * Set the C1 data from an analysis that has already been performed.
+	 * @param analyzer
 	 */
-	public void setC1Data(File c1File)
+	private void setC1Data(C1Analyzer analyzer)
 	{
 		// If were loading a new data file, deallocate the current data set
 		if (c1Data != null)
 			c1Data = null;
 		
-		// Analyze the contents of the new file
-		c1Analyzer.performAnalysis(c1File);
-
-		// Get the duration of the data from the analysis.
-		this.maxTimeInMillis = c1Analyzer.getMaxTimeInMillis();
+		// Use the new analysis for all of the C1 data
+		this.c1Analyzer = analyzer;
 		
 		// Indicate that we loaded some data
 		dataLoaded = true;
 		
-		// If our list of devices does not contain "170", then add it
+		// If our list of devices does not contain "C1", then add it
 		if (!deviceList.contains("C1"))
 		{
 			deviceList.add("C1");
@@ -546,15 +778,6 @@ public class DataModel extends Observable
 		
 		// Set the C1 input map
 		setC1InputMap();
-		
-		// Indicate that we have a change to all of the observers
-		setChanged();
-		
-		// Notify any observers that respond directly to the Vector for the device list
-		notifyObservers(getDeviceList());
-		
-		// Notify all observers of other changes
-		notifyObservers();
 	}
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -562,20 +785,17 @@ public class DataModel extends Observable
 	// -- Data Model: C1 Maxim Data Methods
 	
 	/**
-	 * Set the C1 data file and run the analysis on it.
-	 * @param c1File
+	 * Set the C1 Maxim data from an analysis that has already been performed.
+	 * @param analyzer
 	 */
-	public void setC1MaximData(File c1MaximFile)
+	private void setC1MaximData(C1Maxim analyzer)
 	{
 		// If were loading a new data file, deallocate the current data set
 		if (c1MaximData != null)
 			c1MaximData = null;
 		
-		// Analyze the contents of the new file
-		c1MaximAnalyzer.performAnalysis(c1MaximFile);
-
-		// Get the duration of the data from the analysis.
-		this.maxTimeInMillis = c1MaximAnalyzer.getMaxTimeInMillis();
+		// Use the new analysis for all of the C1 Maxim data
+		this.c1MaximAnalyzer = analyzer;
 		
 		// Indicate that we loaded some data
 		dataLoaded = true;
@@ -588,15 +808,6 @@ public class DataModel extends Observable
 		
 		// Set the C1 input map
 		setC1MaximInputMap();
-		
-		// Indicate that we have a change to all of the observers
-		setChanged();
-		
-		// Notify any observers that respond directly to the Vector for the device list
-		notifyObservers(getDeviceList());
-		
-		// Notify all observers of other changes
-		notifyObservers();
 	}
 
 	
@@ -605,10 +816,11 @@ public class DataModel extends Observable
 	// -- Data Model: 170 Data Methods
 
 	/**
-	 * Set the 170 data file and run the analysis on it.
+	 * Set the 170 data from an analysis that has already been performed.
+	 * @param analyzer
 	 * @param logFile
 	 */
-	public void set170Data(File logFile)
+	private void set170Data(L170Analyzer analyzer, File logFile)
 	{
 		// If were loading a new data file, deallocate the current data set
 		if (l170Data != null)
@@ -617,11 +829,8 @@ public class DataModel extends Observable
 		// Set the 170 file to the one passed for future use.
 		this.L170File = logFile;
 		
-		// Analyze the contents of the new file
-		l170Analyzer.performAnalysis(logFile);
-		
-		// Get the duration of the data from the analysis.
-		this.maxTimeInMillis = l170Analyzer.getMaxTimeInMillis();
+		// Use the new analysis for all of the 170 data
+		this.l170Analyzer = analyzer;
 		
 		// Indicate that we loaded some data
 		dataLoaded = true;
@@ -637,15 +846,6 @@ public class DataModel extends Observable
 		
 		// Set the 170 input map
 		set170InputMap();
-		
-		// Indicate that we have a change to all of the observers
-		setChanged();
-		
-		// Notify any observers that respond directly to the Vector for the device list
-		notifyObservers(getDeviceList());
-		
-		// Notify all observers of other changes
-		notifyObservers();
 	}
 	
 	/**
@@ -750,21 +950,22 @@ public class DataModel extends Observable
 		{
 			// If the video player's id is 1, then it will also update the graphs to the same position.
 			if (vp.getPlayerID() == 1)
-				// Set the current position to the value returned from jumping the video forward by a frame.
-				setCurrentPosition(vp.nextFrame(), false);
+				// Set the current position to the value returned from jumping the video forward by a frame, without the video's offset.
+				setCurrentPosition(vp.nextFrame() - vp.getTimeOffset(), false);
 			else
 				// Update all other video players if their id is not 1
 				vp.nextFrame();
 		}
 		
 		// Notify any observers of the change
-		notifyObservers();
+		notifyObservers(DataModelChange.POSITION);
 	}
 		
 	/**
 	 * Reverse all data graphs and video by a 'frame'
 	 * 
-	 * NOTE: Due to VLC's implementation, there is no "frame back', so the data will jump back by ~500milliseconds
+	 * NOTE: VLC can only step forward, so the videos show the frames they saved while stepping forward when they can,
+	 * 		 and otherwise seek back to the frame.
 	 */
 	public void reverseFrame()
 	{
@@ -773,15 +974,15 @@ public class DataModel extends Observable
 		{
 			// If the video player's id is 1, then it will also update the graphs to the same position.
 			if (vp.getPlayerID() == 1)
-				// Set the current position to the value returned from jumping the video backwards by a frame.
-				setCurrentPosition(vp.previousFrame(), false);
+				// Set the current position to the value returned from jumping the video backwards by a frame, without the video's offset.
+				setCurrentPosition(vp.previousFrame() - vp.getTimeOffset(), false);
 			// Update all other video players if their id is not 1
 			else
 				vp.previousFrame();
 		}
 
 		// Notify any observers of the change
-		notifyObservers();
+		notifyObservers(DataModelChange.POSITION);
 	}
 
 	/**
@@ -811,6 +1012,26 @@ public class DataModel extends Observable
 		this.setCurrentPosition(pos, false);	
 	}
 		
+	/**
+	 * Corrects any video players that have drifted away from the position plus their offsets.
+	 * This is called while playing, so the videos follow the playback clock instead of drifting away from the graphs and each other.
+	 * 
+	 * @param position - the position the videos should be at in milliseconds
+	 */
+	public void syncVideos(long position)
+	{
+		syncEngine.synchronize(videoPlayers, position, playbackRate);
+	}
+	
+	/**
+	 * Returns the difference in milliseconds between the videos that were furthest ahead and behind the last time they were synced
+	 * @return
+	 */
+	public long getCameraSkew()
+	{
+		return syncEngine.getCameraSkew();
+	}
+	
 	/**
 	 * Return if we are currently playing the data
 	 * @return
@@ -828,8 +1049,13 @@ public class DataModel extends Observable
 	{
 		// Set our isPlaying flag to the one passed
 		this.isPlaying = isPlaying;
+		
+		// Used for keeping track of the master player's pause, so the graphs can be moved to where it paused
+		VideoPlayer master = null;
+		Future<Long> masterPaused = null;
 
-		// Loop through all of the video players
+		// Loop through all of the video players. Each player carries out the command on its own thread,
+		// so they all start or pause at the same time instead of one after the other.
 		for (VideoPlayer vp : videoPlayers)
 		{
 			// If we are now playing, we can play all the videos.
@@ -840,15 +1066,54 @@ public class DataModel extends Observable
 			}
 			else
 			{
-				// Since we paused, we need to update the graph to the position of the master video player.
-				// If the Video Player ID is 1, then update the graph position based on the video time of the master player.
+				// Pause the video, and keep the master player's pause so the graphs can follow it
+				Future<Long> paused = vp.pauseVideo();
+				
 				if (vp.getPlayerID() == 1)
-					setCurrentPosition(vp.pauseVideo(), false);
-				// Otherwise pause the videos.
-				else
-					vp.pauseVideo();
+				{
+					master = vp;
+					masterPaused = paused;
+				}
 			}
 		}
+		
+		// Since we paused, we need to update the graph to the position of the master video player.
+		// This only waits for the master player, which has been pausing at the same time as the others.
+		if (masterPaused != null)
+			setCurrentPosition(getPausedTime(master, masterPaused) - master.getTimeOffset(), false);
+		
+		// Undo any rate corrections made while playing
+		if (!this.isPlaying)
+			syncEngine.reset(videoPlayers, playbackRate);
+	}
+	
+	/**
+	 * Returns the video time once the video has paused. If VLC doesn't report the pause in time, the player's
+	 * current time is used instead.
+	 * 
+	 * @param vp
+	 * @param paused
+	 * @return
+	 */
+	private long getPausedTime(VideoPlayer vp, Future<Long> paused)
+	{
+		try
+		{
+			return paused.get(PAUSE_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e)
+		{
+			return vp.getVideoTime();
+		}
+		catch (ExecutionException e)
+		{
+			return vp.getVideoTime();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return vp.getVideoTime();
+		}
 	}
 	
 	/**
@@ -860,11 +1125,8 @@ public class DataModel extends Observable
 		// Update the Data Model's Playback rate to the one passed.
 		this.playbackRate = rate;
 
-		// Loop through all of the video players and update their playback rate.
-		for (VideoPlayer vp : videoPlayers)
-		{
-			vp.setPlaybackSpeed(rate);
-		}
+		// Update the playback rate of all the video players, replacing any rate corrections made to keep them in sync.
+		syncEngine.reset(videoPlayers, rate);
 		
 		// Indicate to the observer that we have changes
 		setChanged();
@@ -898,15 +1160,32 @@ public class DataModel extends Observable
 		{
 			// Ensure that we have video players to update.
 			if (videoPlayers != null)
-				// Loop through all of the video players and update their positions by jumping to a specific time.
+				// Loop through all of the video players and update their positions by jumping to a specific time, including each video's offset.
 				for (VideoPlayer vp : videoPlayers)
 				{
-					vp.jumpToTime(currentPosition);
+					vp.jumpToTime(currentPosition + vp.getTimeOffset());
 				}	
 		}
 		
-		// Call the local method to notify all observers of changes.
-		notifyObservers();
+		// Call the local method to notify all observers that the position has moved.
+		notifyObservers(DataModelChange.POSITION);
+	}
+
+	/**
+	 * Shows each video's thumbnail for the position, without moving the videos or the data. This is used while the
+	 * position slider is being dragged, so the videos are only moved once, when the slider is let go.
+	 * 
+	 * @param position - the position in milliseconds being previewed
+	 */
+	public void previewPosition(long position)
+	{
+		// Ensure that we have video players to update.
+		if (videoPlayers != null)
+			// Loop through all of the video players and show the thumbnail for their time, including each video's offset.
+			for (VideoPlayer vp : videoPlayers)
+			{
+				vp.previewTime(position + vp.getTimeOffset());
+			}
 	}
 
 	/**
@@ -924,43 +1203,113 @@ public class DataModel extends Observable
 	
 	
 	/**
-	 * Returns all of the state information for a specific device for graphing.
+	 * Fills the line buffer with the state information for a specific device for graphing.
+	 * Columns are counted from time 0, so that a graph can ask for only the columns it needs to draw.
+	 * The buffer is left empty if there is no data for the device.
 	 * 
 	 * NOTE: This can be updated in the future with more devices and allow for expandability.
 	 * 
+	 * @param lines
 	 * @param device
-	 * @param center
 	 * @param channel
-	 * @param width
+	 * @param scale - pixels per millisecond
+	 * @param first - first column to be graphed
+	 * @param last - last column to be graphed
+	 * @param origin - column that is drawn at pixel 0
+	 * @param bottom
+	 * @param height
+	 */
+	public void getStateDataForDevice(LineBuffer lines, String device, int channel, double scale, long first, long last, long origin, int bottom, int height)
+	{
+		// If the device is equal to "170", then get the states for the 170 data.
+		if (device.equals("170"))
+		{
+			// Get the graph events from the 170 analysis.
+			l170Analyzer.getGraphEvents(lines, scale, first, last, origin, channel, (height * 1.0), (bottom * 1.0));
+		}
+		// If the device is equal to "C1", then get the states for the C1 data.
+		else if (device.equals("C1"))
+		{
+			// Get the graph events from the C1 Analysis
+			c1Analyzer.getGraphEvents(lines, scale, first, last, origin, channel, (height * 1.0), (bottom * 1.0));
+		}
+		// If the device is equal to "C1", then get the states for the C1 data.
+		else if (device.equals("Maxim"))
+		{
+			// Get the graph events from the C1 Analysis
+			c1MaximAnalyzer.getGraphEvents(lines, scale, first, last, origin, channel, (height * 1.0), (bottom * 1.0));
+		}
+		else
+		{
+			// If we get to this point we don't have a device to graph.
+			lines.clear();
+		}
+	}
+	
+	/**
+	 * Fills the line buffers with the state information for several channels of a device for graphing, all over the same columns.
+	 * The range of times being graphed is only looked up once for all of the channels.
+	 * Each buffer is left empty if there is no data for its channel.
+	 * 
+	 * @param lines - one buffer for each channel, in the same order
+	 * @param device
+	 * @param channels
+	 * @param scale - pixels per millisecond
+	 * @param first - first column to be graphed
+	 * @param last - last column to be graphed
+	 * @param origin - column that is drawn at pixel 0
 	 * @param bottom
-	 * @param gap
 	 * @param height
-	 * @return
 	 */
-	public Vector<Line> getStateDataForDevice(String device, int center, int channel, int width, int bottom, int gap, int height)
+	public void getStateDataForChannels(LineBuffer[] lines, String device, int[] channels, double scale, long first, long last, long origin, int bottom, int height)
 	{
-		// If the device is equal to "170", then return the states for the 170 data.
 		if (device.equals("170"))
 		{
-			// Return the graph events from the 170 analysis.
-			return l170Analyzer.getGraphEvents(width, currentPosition + this.graphOffset, gSeconds, channel, (height * 1.0), (bottom * 1.0));
+			l170Analyzer.getGraphEvents(lines, scale, first, last, origin, channels, (height * 1.0), (bottom * 1.0));
 		}
-		// If the device is equal to "C1", then return the states for the C1 data.
 		else if (device.equals("C1"))
 		{
-			// Return the graph events from the C1 Analysis
-			return c1Analyzer.getGraphEvents(width, currentPosition + this.graphOffset, gSeconds, channel, (height * 1.0), (bottom * 1.0));
+			c1Analyzer.getGraphEvents(lines, scale, first, last, origin, channels, (height * 1.0), (bottom * 1.0));
 		}
-		// If the device is equal to "C1", then return the states for the C1 data.
 		else if (device.equals("Maxim"))
 		{
-			// Return the graph events from the C1 Analysis
-			return c1MaximAnalyzer.getGraphEvents(width, currentPosition + this.graphOffset, gSeconds, channel, (height * 1.0), (bottom * 1.0));
+			c1MaximAnalyzer.getGraphEvents(lines, scale, first, last, origin, channels, (height * 1.0), (bottom * 1.0));
+		}
+		else
+		{
+			// If we get to this point we don't have a device to graph.
+			for (int i = 0; i < channels.length; i++)
+				lines[i].clear();
 		}
+	}
+	
+	/**
+	 * Returns the number of transitions in each part of the session for every channel of a device,
+	 * or null if there is no data for the device.
+	 * 
+	 * @param device
+	 * @return
+	 */
+	public ActivityHistogram getActivityForDevice(String device)
+	{
+		if (device.equals("170") && l170Analyzer != null)
+			return l170Analyzer.getActivity();
+		else if (device.equals("C1") && c1Analyzer != null)
+			return c1Analyzer.getActivity();
+		else if (device.equals("Maxim") && c1MaximAnalyzer != null)
+			return c1MaximAnalyzer.getActivity();
 		
-		// If we get to this point we don't have a device to return.
 		return null;
 	}
+	
+	/**
+	 * Returns the time at the center of the graphs, which is the current position adjusted by the graph offset.
+	 * @return
+	 */
+	public long getGraphPosition()
+	{
+		return this.currentPosition + this.graphOffset;
+	}
 		
 	/**
 	 * Sets the graph scale based on the parameter value.
@@ -972,7 +1321,7 @@ public class DataModel extends Observable
 		this.gScale = scale;
 		
 		// Notify all observers of the changes
-		notifyObservers();
+		notifyObservers(DataModelChange.GRAPH_SCALE);
 	}
 		
 	/**
@@ -985,7 +1334,7 @@ public class DataModel extends Observable
 		this.gSeconds = d;
 
 		// Notify all observers of the changes
-		notifyObservers();
+		notifyObservers(DataModelChange.GRAPH_WIDTH);
 	}
 	
 	/**
@@ -1020,7 +1369,7 @@ public class DataModel extends Observable
 		this.graphOffset = offset;
 		
 		// Notify all observers that we have changes
-		this.notifyObservers();
+		this.notifyObservers(DataModelChange.OFFSET);
 	}
 
 
@@ -1029,15 +1378,41 @@ public class DataModel extends Observable
 	// -- Data Model: Observer Methods
 	
 	/**
-	 * Notify all observers that we have changes to make.
+	 * Notify all observers that we have changes to make. This is used when anything could have changed, so every
+	 * observer updates everything.
 	 */
 	public void notifyObservers()
 	{
 		// Indicate to the observer that we have a change.
 		setChanged();
 		
-		// Notify all observers with a new DataModelProxy object.
-		notifyObservers(new DataModelProxy(this));
+		// Notify all observers with the proxy for every change.
+		notifyObservers(allChangesProxy);
+	}
+	
+	/**
+	 * Notify all observers of a single kind of change, so the observers that don't show it can skip it.
+	 * 
+	 * @param change
+	 */
+	public void notifyObservers(DataModelChange change)
+	{
+		setChanged();
+		
+		// Notify all observers with the proxy for this change, which is reused every time
+		notifyObservers(changeProxies.get(change));
+	}
+	
+	/**
+	 * Notify all observers of several kinds of changes at once.
+	 * 
+	 * @param changes
+	 */
+	public void notifyObservers(EnumSet<DataModelChange> changes)
+	{
+		setChanged();
+		
+		notifyObservers(new DataModelProxy(this, changes));
 	}
 	
 	
@@ -1081,6 +1456,9 @@ public class DataModel extends Observable
 		// Set our initial position value to 0
 		long position = 0;
 		
+		// The events are searched for from the time currently being displayed on the graphs
+		long currentTime = this.currentPosition + this.graphOffset;
+		
 		// If the device is a 170 type, then jump to one of its events
 		if (device.equals("170"))
 		{
@@ -1088,13 +1466,13 @@ public class DataModel extends Observable
 			if (event == 0)
 			{
 				// Jump back to the previous event based on the channel number & bit value.
-				position = l170Analyzer.returnPreviousTimeValueForEvent(channel, bit);
+				position = l170Analyzer.returnPreviousTimeValueForEvent(channel, bit, currentTime);
 			}
 			// Otherwise jump forwards
 			else
 			{
 				// Jump forward to the previous event based on the channel number & bit value.
-				position = l170Analyzer.returnNextTimeValueForEvent(channel, bit);
+				position = l170Analyzer.returnNextTimeValueForEvent(channel, bit, currentTime);
 			}
 		}
 		// If the device is a C1 type, then jump to one of its events
@@ -1104,13 +1482,13 @@ public class DataModel extends Observable
 			if (event == 0)
 			{
 				// Jump back to the previous event based on the channel number & bit value.
-				position = c1Analyzer.returnPreviousTimeValueForEvent(channel, bit);
+				position = c1Analyzer.returnPreviousTimeValueForEvent(channel, bit, currentTime);
 			}
 			// Otherwise jump forwards
 			else
 			{
 				// Jump forward to the previous event based on the channel number & bit value.
-				position = c1Analyzer.returnNextTimeValueForEvent(channel, bit);
+				position = c1Analyzer.returnNextTimeValueForEvent(channel, bit, currentTime);
 			}
 		}
 		// If the device is a C1 type, then jump to one of its events
@@ -1120,13 +1498,13 @@ public class DataModel extends Observable
 			if (event == 0)
 			{
 				// Jump back to the previous event based on the channel number & bit value.
-				position = c1MaximAnalyzer.returnPreviousTimeValueForEvent(channel, bit);
+				position = c1MaximAnalyzer.returnPreviousTimeValueForEvent(channel, bit, currentTime);
 			}
 			// Otherwise jump forwards
 			else
 			{
 				// Jump forward to the previous event based on the channel number & bit value.
-				position = c1MaximAnalyzer.returnNextTimeValueForEvent(channel, bit);
+				position = c1MaximAnalyzer.returnNextTimeValueForEvent(channel, bit, currentTime);
 			}
 		}
 		
@@ -1178,6 +1556,7 @@ public class DataModel extends Observable
 	{
 		// Remove the video player object from the array
 		videoPlayers.remove(vp);
+		syncEngine.remove(vp);
 		
 		// Destroy the object passed
 		vp = null;
@@ -0,0 +1,48 @@
+/**
+ * ****************************************************************
+ * File: 			DataModelChange.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To list the kinds of changes the Data Model
+ * 					tells its observers about. Each notification
+ * 					carries the set of changes that caused it, so a
+ * 					view can skip any notification that doesn't
+ * 					affect what it shows.
+ *
+ * ****************************************************************
+ */
+package models;
+
+public enum DataModelChange
+{
+	/**
+	 * The current position of the data and videos has moved
+	 */
+	POSITION,
+
+	/**
+	 * The graph scale has been changed
+	 */
+	GRAPH_SCALE,
+
+	/**
+	 * The number of seconds shown across the graphs has been changed
+	 */
+	GRAPH_WIDTH,
+
+	/**
+	 * The offset between the videos and the graphs has been changed
+	 */
+	OFFSET,
+
+	/**
+	 * Data has been loaded, removed, or appended to
+	 */
+	DATA_LOADED,
+
+	/**
+	 * The channels or channel names of a device have been changed
+	 */
+	INPUT_MAP
+}
@@ -16,10 +16,12 @@
  */
 package models;
 
+import java.util.EnumSet;
 import java.util.Vector;
 
 import objects.DeviceInputMap;
-import objects.graphs.Line;
+import objects.graphs.ActivityHistogram;
+import objects.graphs.LineBuffer;
 import views.videos.VideoPlayer;
 
 public class DataModelProxy
@@ -29,6 +31,11 @@ public class DataModelProxy
 	 */
 	private DataModel dm;
 	
+	/**
+	 * The changes that the proxy was sent to the observers for
+	 */
+	private EnumSet<DataModelChange> changes;
+	
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	// -- Data Model Proxy Construction 
@@ -38,9 +45,44 @@ public class DataModelProxy
 	 * @param dm
 	 */
 	public DataModelProxy (DataModel dm)
+	{
+		// A proxy that isn't sent for a change could have been sent for any of them
+		this(dm, EnumSet.allOf(DataModelChange.class));
+	}
+	
+	/**
+	 * Construct a Data Model Proxy with a reference to the Data Model and the changes it is being sent for
+	 * @param dm
+	 * @param changes
+	 */
+	public DataModelProxy (DataModel dm, EnumSet<DataModelChange> changes)
 	{
 		// Set the DataModelProxy object
 		this.dm = dm;
+		this.changes = changes;
+	}
+	
+	
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Data Model Proxy Changes
+	
+	/**
+	 * Returns true if the proxy was sent for any of the changes, so observers can skip notifications that
+	 * don't affect them.
+	 * 
+	 * @param kinds
+	 * @return
+	 */
+	public boolean hasChanged(DataModelChange... kinds)
+	{
+		for (DataModelChange kind : kinds)
+		{
+			if (changes.contains(kind))
+				return true;
+		}
+		
+		return false;
 	}
 
 
@@ -118,6 +160,15 @@ public class DataModelProxy
 	{
 		this.dm.setCurrentPosition(position, true);
 	}
+	
+	/**
+	 * Show the videos' thumbnails for a slider's value while it is being dragged, without moving anything.
+	 * @param position
+	 */
+	public void previewSliderPosition(int position)
+	{
+		this.dm.previewPosition(position);
+	}
 
 	/**
 	 * Tell the Data Model Proxy to jump to a specific event
@@ -164,19 +215,56 @@ public class DataModelProxy
 	}
 
 	/**
-	 * Return the data for a channel to be displayed in the graph.
+	 * Fill the line buffer with the data for a channel to be displayed in the graph.
+	 * @param lines
 	 * @param device
-	 * @param center
 	 * @param channel
-	 * @param width
+	 * @param scale
+	 * @param first
+	 * @param last
+	 * @param origin
+	 * @param base
+	 * @param height
+	 */
+	public void getDataForChannel(LineBuffer lines, String device, int channel, double scale, long first, long last, long origin, int base, int height)
+	{
+		this.dm.getStateDataForDevice(lines, device, channel, scale, first, last, origin, base, height);
+	}
+	
+	/**
+	 * Fill the line buffers with the data for several channels to be displayed in the same graph.
+	 * @param lines - one buffer for each channel
+	 * @param device
+	 * @param channels
+	 * @param scale
+	 * @param first
+	 * @param last
+	 * @param origin
 	 * @param base
-	 * @param gap
 	 * @param height
+	 */
+	public void getDataForChannels(LineBuffer[] lines, String device, int[] channels, double scale, long first, long last, long origin, int base, int height)
+	{
+		this.dm.getStateDataForChannels(lines, device, channels, scale, first, last, origin, base, height);
+	}
+	
+	/**
+	 * Return the number of transitions in each part of the session for every channel of the device
+	 * @param device
+	 * @return
+	 */
+	public ActivityHistogram getActivityForDevice(String device)
+	{
+		return this.dm.getActivityForDevice(device);
+	}
+	
+	/**
+	 * Return the time at the center of the graphs
 	 * @return
 	 */
-	public Vector<Line> getDataForChannel(String device, int center, int channel, int width, int base, int gap, int height)
+	public long getGraphPosition()
 	{
-		return this.dm.getStateDataForDevice(device, center, channel, width, base, gap, height);
+		return this.dm.getGraphPosition();
 	}
 
 	/**
@@ -197,6 +285,15 @@ public class DataModelProxy
 		return this.dm.getCurrentPosition();
 	}
 	
+	/**
+	 * Return the difference in milliseconds between the videos that were furthest ahead and behind
+	 * @return
+	 */
+	public long getCameraSkew()
+	{
+		return this.dm.getCameraSkew();
+	}
+	
 	/**
 	 * Return the max value to set the slider to.
 	 * @return
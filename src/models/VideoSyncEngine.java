@@ -0,0 +1,226 @@
+/**
+ * ****************************************************************
+ * File: 			VideoSyncEngine.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To keep every video player at the playback
+ * 					position while the data is playing. Each player's
+ * 					time is compared to the position plus the player's
+ * 					offset, and a player that is off is corrected by
+ * 					playing it slightly faster or slower until it
+ * 					catches up, or by jumping it to the position when
+ * 					it is too far off to catch up smoothly.
+ *
+ * 					The difference between the players that are the
+ * 					furthest ahead and behind is kept as the skew
+ * 					between the cameras.
+ *
+ * ****************************************************************
+ */
+package models;
+
+import java.util.HashMap;
+import java.util.List;
+
+import views.videos.VideoPlayer;
+
+public class VideoSyncEngine
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Video Sync Engine Variable Declarations
+
+	/**
+	 * The number of milliseconds a player can be off before it is corrected. VLC only updates a player's time every
+	 * few hundred milliseconds, so a smaller difference can't be measured.
+	 */
+	private static final long SKEW_TOLERANCE = 200;
+
+	/**
+	 * The number of milliseconds a player can be off before it is jumped to the position instead of having its rate adjusted
+	 */
+	private static final long RESEEK_THRESHOLD = 1500;
+
+	/**
+	 * The number of milliseconds of playback a player is given to catch up by having its rate adjusted
+	 */
+	private static final double CORRECTION_MILLIS = 5000;
+
+	/**
+	 * The most a player's rate is changed by to correct it, as a part of the playback rate
+	 */
+	private static final double MAX_RATE_ADJUSTMENT = 0.05;
+
+	/**
+	 * Used for storing the last skew measured and the rate that was set for each player
+	 */
+	private HashMap<VideoPlayer, PlayerSync> players = new HashMap<VideoPlayer, PlayerSync>();
+
+	/**
+	 * Used for storing the difference in milliseconds between the players that were furthest ahead and behind
+	 * the last time they were checked
+	 */
+	private long cameraSkew = 0;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Video Sync Engine Methods
+
+	/**
+	 * Compares each player's time to the position plus its offset, and corrects the players that are off.
+	 *
+	 * @param videoPlayers - the players to be kept in sync
+	 * @param position - the playback position in milliseconds
+	 * @param rate - the playback rate that all of the players should be playing at
+	 */
+	public synchronized void synchronize(List<VideoPlayer> videoPlayers, long position, float rate)
+	{
+		long minSkew = Long.MAX_VALUE;
+		long maxSkew = Long.MIN_VALUE;
+
+		for (VideoPlayer vp : videoPlayers)
+		{
+			PlayerSync sync = getPlayerSync(vp);
+
+			// A positive skew means the player is ahead of where it should be
+			long target = position + vp.getTimeOffset();
+			long skew = vp.getVideoTime() - target;
+
+			sync.skew = skew;
+
+			minSkew = Math.min(minSkew, skew);
+			maxSkew = Math.max(maxSkew, skew);
+
+			if (Math.abs(skew) > RESEEK_THRESHOLD)
+			{
+				// The player is too far off to catch up smoothly, so jump it to the position
+				vp.jumpToTime(target);
+				setRate(vp, sync, rate);
+			}
+			else if (Math.abs(skew) > SKEW_TOLERANCE)
+			{
+				// Slow down a player that is ahead, or speed up one that is behind, so it makes up the difference
+				double adjustment = Math.max(-MAX_RATE_ADJUSTMENT, Math.min(MAX_RATE_ADJUSTMENT, skew / CORRECTION_MILLIS));
+				setRate(vp, sync, (float) (rate * (1 - adjustment)));
+			}
+			else
+			{
+				// The player is close enough, so play it at the normal rate
+				setRate(vp, sync, rate);
+			}
+		}
+
+		cameraSkew = videoPlayers.isEmpty() ? 0 : maxSkew - minSkew;
+	}
+
+	/**
+	 * Puts every player back at the playback rate, such as when playback is paused or the rate is changed.
+	 *
+	 * @param videoPlayers
+	 * @param rate
+	 */
+	public synchronized void reset(List<VideoPlayer> videoPlayers, float rate)
+	{
+		for (VideoPlayer vp : videoPlayers)
+			setRate(vp, getPlayerSync(vp), rate);
+	}
+
+	/**
+	 * Stops keeping track of a player that has been closed
+	 *
+	 * @param vp
+	 */
+	public synchronized void remove(VideoPlayer vp)
+	{
+		players.remove(vp);
+	}
+
+	/**
+	 * Sets the player's rate, only calling into VLC when it is different from the rate that was last set.
+	 *
+	 * @param vp
+	 * @param sync
+	 * @param rate
+	 */
+	private void setRate(VideoPlayer vp, PlayerSync sync, float rate)
+	{
+		if (sync.rate != rate)
+		{
+			vp.setPlaybackSpeed(rate);
+			sync.rate = rate;
+		}
+	}
+
+	/**
+	 * Returns the sync information for the player, creating it from the player's current rate if it hasn't been checked before.
+	 *
+	 * @param vp
+	 * @return
+	 */
+	private PlayerSync getPlayerSync(VideoPlayer vp)
+	{
+		PlayerSync sync = players.get(vp);
+
+		if (sync == null)
+		{
+			sync = new PlayerSync();
+			sync.rate = vp.getPlaybackRate();
+			players.put(vp, sync);
+		}
+
+		return sync;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Video Sync Engine Getters
+
+	/**
+	 * Returns the difference in milliseconds between the players that were furthest ahead and behind the last time
+	 * they were checked. This is 0 when there is only one player.
+	 *
+	 * @return
+	 */
+	public synchronized long getCameraSkew()
+	{
+		return cameraSkew;
+	}
+
+	/**
+	 * Returns how far ahead of the position the player was the last time it was checked, in milliseconds.
+	 * This is negative when the player was behind.
+	 *
+	 * @param vp
+	 * @return
+	 */
+	public synchronized long getSkew(VideoPlayer vp)
+	{
+		PlayerSync sync = players.get(vp);
+
+		return (sync == null) ? 0 : sync.skew;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Player Sync
+
+	/**
+	 * Used for storing what the engine knows about each player
+	 */
+	private static class PlayerSync
+	{
+		/**
+		 * The last skew that was measured in milliseconds
+		 */
+		long skew;
+
+		/**
+		 * The rate the player was last set to
+		 */
+		float rate;
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ * ****************************************************************
+ * File: 			PlaybackClock.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To keep track of the playback position from the
+ * 					time that has passed since playback started.
+ * 					The position is always worked out from the start
+ * 					position, the elapsed time, and the playback rate,
+ * 					instead of adding up the time of each timer tick,
+ * 					so late or uneven ticks never add up into drift.
+ *
+ * ****************************************************************
+ */
+package objects;
+
+public class PlaybackClock
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Playback Clock Variable Declarations
+
+	/**
+	 * Used for storing the position the clock was last started or moved to, and the system time when it was.
+	 *
+	 * NOTE: The system time is from System.nanoTime, which never jumps when the computer's clock is changed.
+	 */
+	private long anchorPosition = 0;
+	private long anchorNanos = 0;
+
+	/**
+	 * Used for storing how fast the position moves, where 1.0 is real time.
+	 */
+	private double rate = 1.0;
+
+	/**
+	 * Used for keeping track of if the position is moving
+	 */
+	private boolean running = false;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Playback Clock Setters
+
+	/**
+	 * Starts moving the position forward from the position passed.
+	 *
+	 * @param position - the position in milliseconds to start from
+	 */
+	public synchronized void start(long position)
+	{
+		setAnchor(position);
+
+		running = true;
+	}
+
+	/**
+	 * Stops the position from moving, and returns the position it stopped at.
+	 *
+	 * @return
+	 */
+	public synchronized long stop()
+	{
+		setAnchor(getPosition());
+
+		running = false;
+
+		return anchorPosition;
+	}
+
+	/**
+	 * Moves the clock to a new position, such as when the user moves the slider. If the clock is running, it
+	 * keeps running from the new position.
+	 *
+	 * @param position
+	 */
+	public synchronized void setPosition(long position)
+	{
+		setAnchor(position);
+	}
+
+	/**
+	 * Changes how fast the position moves. The clock is anchored at its current position first, so the time
+	 * that passed at the old rate isn't counted again at the new rate.
+	 *
+	 * @param rate - 0.5 is half speed, 1.0 is normal speed, 2.0 is double speed, etc...
+	 */
+	public synchronized void setRate(double rate)
+	{
+		setAnchor(getPosition());
+
+		this.rate = rate;
+	}
+
+	/**
+	 * Sets the position the clock moves forward from, starting from the current system time.
+	 *
+	 * @param position
+	 */
+	private void setAnchor(long position)
+	{
+		anchorPosition = position;
+		anchorNanos = System.nanoTime();
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Playback Clock Getters
+
+	/**
+	 * Returns the current position in milliseconds, from the time that has passed since the clock was anchored.
+	 *
+	 * @return
+	 */
+	public synchronized long getPosition()
+	{
+		if (!running)
+			return anchorPosition;
+
+		return anchorPosition + (long) Math.floor((System.nanoTime() - anchorNanos) * rate / 1000000.0);
+	}
+
+	/**
+	 * Returns the playback rate
+	 * @return
+	 */
+	public synchronized double getRate()
+	{
+		return rate;
+	}
+
+	/**
+	 * Returns true if the position is moving
+	 * @return
+	 */
+	public synchronized boolean isRunning()
+	{
+		return running;
+	}
+}
@@ -0,0 +1,323 @@
+/**
+ * ****************************************************************
+ * File: 			TransitionStore.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To store all of the state transitions for a
+ * 					single channel in primitive arrays so that
+ * 					large data files can be held in memory without
+ * 					creating an object for every event.
+ *
+ * ****************************************************************
+ */
+package objects;
+
+public class TransitionStore
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Store Variable Declarations
+
+	/**
+	 * The number of elements the arrays hold when the store is first created
+	 */
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * Used for storing the millisecond time of each transition in chronological order
+	 */
+	private long[] times;
+
+	/**
+	 * Used for storing the state of each transition. The index matches the times array.
+	 */
+	private byte[] states;
+
+	/**
+	 * Used for keeping track of how many transitions are stored.
+	 *
+	 * NOTE: This is volatile and is always written after the arrays have been updated, so a reader that
+	 * 		 reads the size first will always see the elements below that size without any locking.
+	 */
+	private volatile int size;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Store Construction
+
+	/**
+	 * Creates an empty transition store
+	 */
+	public TransitionStore()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty transition store that can hold capacity elements before it has to grow
+	 * @param capacity
+	 */
+	public TransitionStore(int capacity)
+	{
+		times = new long[Math.max(capacity, 1)];
+		states = new byte[Math.max(capacity, 1)];
+		size = 0;
+	}
+
+	/**
+	 * Creates a transition store that holds the arrays passed. Both arrays must be the same length.
+	 * @param times
+	 * @param states
+	 */
+	public TransitionStore(long[] times, byte[] states)
+	{
+		if (times.length != states.length)
+			throw new IllegalArgumentException("The times and states arrays must be the same length");
+
+		this.times = times;
+		this.states = states;
+		this.size = times.length;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Store Setters
+
+	/**
+	 * Adds a transition to the end of the store
+	 * @param time
+	 * @param state
+	 */
+	public void add(long time, int state)
+	{
+		int n = size;
+
+		// Grow the arrays if there is no room left for the new element
+		if (n == times.length)
+			grow(n + 1);
+
+		times[n] = time;
+		states[n] = (byte) state;
+
+		// Publish the new element by updating the size last
+		size = n + 1;
+	}
+
+	/**
+	 * Adds all of the transitions from another store to the end of this one, adding the offset to each of their times
+	 * @param other
+	 * @param offset
+	 */
+	public void addAll(TransitionStore other, long offset)
+	{
+		int n = size;
+		int count = other.size();
+
+		// Make sure there is room for all of the new elements at once
+		if (n + count > times.length)
+			grow(n + count);
+
+		for (int i = 0; i < count; i++)
+			times[n + i] = other.times[i] + offset;
+
+		System.arraycopy(other.states, 0, states, n, count);
+
+		// Publish the new elements by updating the size last
+		size = n + count;
+	}
+
+	/**
+	 * Inserts a transition at the index, moving all subsequent elements by +1
+	 * @param index
+	 * @param time
+	 * @param state
+	 */
+	public void insert(int index, long time, int state)
+	{
+		int n = size;
+
+		if (index < 0 || index > n)
+			throw new ArrayIndexOutOfBoundsException(index);
+
+		// Build the shifted arrays off to the side so that readers never see a partially moved array
+		long[] newTimes = new long[Math.max(n + 1, times.length)];
+		byte[] newStates = new byte[newTimes.length];
+
+		System.arraycopy(times, 0, newTimes, 0, index);
+		System.arraycopy(states, 0, newStates, 0, index);
+		System.arraycopy(times, index, newTimes, index + 1, n - index);
+		System.arraycopy(states, index, newStates, index + 1, n - index);
+
+		newTimes[index] = time;
+		newStates[index] = (byte) state;
+
+		times = newTimes;
+		states = newStates;
+		size = n + 1;
+	}
+
+	/**
+	 * Shrinks the arrays so they only take up as much memory as the elements they hold
+	 */
+	public void trimToSize()
+	{
+		int n = size;
+
+		if (n < times.length)
+		{
+			long[] newTimes = new long[Math.max(n, 1)];
+			byte[] newStates = new byte[newTimes.length];
+
+			System.arraycopy(times, 0, newTimes, 0, n);
+			System.arraycopy(states, 0, newStates, 0, n);
+
+			times = newTimes;
+			states = newStates;
+		}
+	}
+
+	/**
+	 * Grows the arrays by half of their current size, or to the minimum capacity if that is larger
+	 * @param minCapacity
+	 */
+	private void grow(int minCapacity)
+	{
+		int capacity = Math.max(times.length + (times.length >> 1), minCapacity);
+
+		long[] newTimes = new long[capacity];
+		byte[] newStates = new byte[capacity];
+
+		System.arraycopy(times, 0, newTimes, 0, size);
+		System.arraycopy(states, 0, newStates, 0, size);
+
+		times = newTimes;
+		states = newStates;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Store Getters
+
+	/**
+	 * Returns the number of transitions in the store
+	 * @return
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the millisecond time of the transition at the index
+	 * @param index
+	 * @return
+	 */
+	public long getMilli(int index)
+	{
+		return times[index];
+	}
+
+	/**
+	 * Returns the state of the transition at the index
+	 * @param index
+	 * @return
+	 */
+	public int getState(int index)
+	{
+		return states[index];
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Transition Store Searching
+
+	/**
+	 * Returns the index of the first transition that is after the time, or size() if there are none.
+	 * @param time
+	 * @return
+	 */
+	public int indexAfter(long time)
+	{
+		return search(time, 0, size);
+	}
+
+	/**
+	 * Returns the index of the first transition that is after the time, or size() if there are none.
+	 *
+	 * The search starts at the hint and gallops outwards until it passes the time, so when the hint is the
+	 * result of a previous search for a nearby time (such as the last frame during playback) the cost is
+	 * only the log of the distance moved instead of the log of the whole array.
+	 *
+	 * @param time
+	 * @param hint - index to start searching from
+	 * @return
+	 */
+	public int indexAfter(long time, int hint)
+	{
+		int n = size;
+
+		// An invalid hint is not an error, we just have to search the whole array
+		if (hint < 0 || hint > n)
+			return search(time, 0, n);
+
+		// If the hint is after the time, the result is at or before the hint, so gallop backwards
+		if (hint == n || times[hint] > time)
+		{
+			int hi = hint;
+			int lo = hint - 1;
+			int step = 1;
+
+			while (lo >= 0 && times[lo] > time)
+			{
+				hi = lo;
+				lo -= step;
+				step <<= 1;
+			}
+
+			return search(time, Math.max(lo + 1, 0), hi);
+		}
+		// Otherwise the result is after the hint, so gallop forwards
+		else
+		{
+			int lo = hint + 1;
+			int hi = lo;
+			int step = 1;
+
+			while (hi < n && times[hi] <= time)
+			{
+				lo = hi + 1;
+				hi = (step < n - hi) ? hi + step : n;
+				step <<= 1;
+			}
+
+			return search(time, lo, Math.min(hi, n));
+		}
+	}
+
+	/**
+	 * Binary search for the first index between lo and hi whose time is after the time, or hi if there are none.
+	 * @param time
+	 * @param lo
+	 * @param hi
+	 * @return
+	 */
+	private int search(long time, int lo, int hi)
+	{
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+
+			if (times[mid] > time)
+				hi = mid;
+			else
+				lo = mid + 1;
+		}
+
+		return lo;
+	}
+}
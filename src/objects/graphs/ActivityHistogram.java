@@ -0,0 +1,227 @@
+/**
+ * ****************************************************************
+ * File: 			ActivityHistogram.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To count how many transitions each channel has
+ * 					in each part of the session, so the activity of
+ * 					every channel over the whole session can be shown
+ * 					without going through the transitions again.
+ *
+ * 					The counts are kept in a fixed number of buckets.
+ * 					When the session grows past the last bucket, the
+ * 					buckets are doubled in length by adding each pair
+ * 					together, so the histogram never grows and new
+ * 					data only needs its own transitions counted.
+ *
+ * ****************************************************************
+ */
+package objects.graphs;
+
+import objects.TransitionStore;
+
+public class ActivityHistogram
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Histogram Variable Declarations
+
+	/**
+	 * The number of buckets each channel has
+	 */
+	private static final int BUCKET_COUNT = 4096;
+
+	/**
+	 * The length in milliseconds of each bucket before any have been doubled
+	 */
+	private static final long FIRST_BUCKET_MILLIS = 1000;
+
+	/**
+	 * Used for keeping track of the length in milliseconds of each bucket
+	 */
+	private long bucketMillis = FIRST_BUCKET_MILLIS;
+
+	/**
+	 * Used for keeping track of how many buckets have been reached by any of the channels
+	 */
+	private int usedBuckets = 0;
+
+	/**
+	 * Used for storing the bit number of each channel, the number of transitions in each of its buckets,
+	 * and how many of its transitions have already been counted.
+	 */
+	private int[] bits = new int[0];
+	private int[][] counts = new int[0][];
+	private int[] counted = new int[0];
+
+	/**
+	 * Used for letting the views know when the counts have changed, so they only redraw them when they need to.
+	 */
+	private int version = 0;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Histogram Setters
+
+	/**
+	 * Counts the transitions of the channel that have been added since it was last updated.
+	 *
+	 * NOTE: The transitions are only ever added to the end of a channel, so the ones that were counted before don't change.
+	 * 		 The first transition is the state the channel starts in rather than a change, so it is not counted.
+	 *
+	 * @param bit - the channel's bit number
+	 * @param transitions - the channel's transitions
+	 */
+	public synchronized void update(int bit, TransitionStore transitions)
+	{
+		int index = indexOf(bit);
+
+		if (index < 0)
+			index = addChannel(bit);
+
+		int size = transitions.size();
+
+		if (size <= counted[index])
+			return;
+
+		for (int i = Math.max(counted[index], 1); i < size; i++)
+		{
+			long time = Math.max(transitions.getMilli(i), 0);
+
+			// Make the buckets longer until the time fits in them
+			while (time / bucketMillis >= BUCKET_COUNT)
+				doubleBuckets();
+
+			int bucket = (int) (time / bucketMillis);
+
+			counts[index][bucket]++;
+
+			if (bucket >= usedBuckets)
+				usedBuckets = bucket + 1;
+		}
+
+		counted[index] = size;
+		version++;
+	}
+
+	/**
+	 * Adds a channel with no counts to the end of the arrays and returns its index
+	 *
+	 * @param bit
+	 * @return
+	 */
+	private int addChannel(int bit)
+	{
+		int index = bits.length;
+
+		int[] newBits = new int[index + 1];
+		int[][] newCounts = new int[index + 1][];
+		int[] newCounted = new int[index + 1];
+
+		System.arraycopy(bits, 0, newBits, 0, index);
+		System.arraycopy(counts, 0, newCounts, 0, index);
+		System.arraycopy(counted, 0, newCounted, 0, index);
+
+		newBits[index] = bit;
+		newCounts[index] = new int[BUCKET_COUNT];
+
+		bits = newBits;
+		counts = newCounts;
+		counted = newCounted;
+
+		return index;
+	}
+
+	/**
+	 * Doubles the length of every bucket by adding each pair of buckets together into the first half of the buckets.
+	 */
+	private void doubleBuckets()
+	{
+		for (int[] c : counts)
+		{
+			for (int i = 0; i < BUCKET_COUNT / 2; i++)
+				c[i] = c[i * 2] + c[i * 2 + 1];
+
+			for (int i = BUCKET_COUNT / 2; i < BUCKET_COUNT; i++)
+				c[i] = 0;
+		}
+
+		bucketMillis *= 2;
+		usedBuckets = (usedBuckets + 1) / 2;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Histogram Getters
+
+	/**
+	 * Fills the columns with the number of transitions the channel has in the part of the session each column covers.
+	 * When the buckets are longer than the columns, each column gets the count of the whole bucket it is in, so the
+	 * activity doesn't show gaps between the buckets.
+	 *
+	 * @param bit - the channel's bit number
+	 * @param span - the length of the session in milliseconds
+	 * @param columns - the array to be filled, one element for each column
+	 */
+	public synchronized void getColumnCounts(int bit, long span, int[] columns)
+	{
+		int index = indexOf(bit);
+		int width = columns.length;
+
+		for (int x = 0; x < width; x++)
+		{
+			columns[x] = 0;
+
+			if (index < 0 || span <= 0)
+				continue;
+
+			// Find the buckets that the column's times fall in
+			long start = x * span / width;
+			long end = Math.max((x + 1) * span / width - 1, start);
+
+			int first = (int) Math.min(start / bucketMillis, usedBuckets);
+			int last = (int) Math.min(end / bucketMillis, usedBuckets - 1);
+
+			for (int b = first; b <= last; b++)
+				columns[x] += counts[index][b];
+		}
+	}
+
+	/**
+	 * Returns the number of times the counts have changed. The views compare this to tell if they need to be redrawn.
+	 * @return
+	 */
+	public synchronized int getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Returns the length in milliseconds of each bucket
+	 * @return
+	 */
+	public synchronized long getBucketMillis()
+	{
+		return bucketMillis;
+	}
+
+	/**
+	 * Returns the index of the channel in the arrays, or -1 if it hasn't been counted
+	 *
+	 * @param bit
+	 * @return
+	 */
+	private int indexOf(int bit)
+	{
+		for (int i = 0; i < bits.length; i++)
+		{
+			if (bits[i] == bit)
+				return i;
+		}
+
+		return -1;
+	}
+}
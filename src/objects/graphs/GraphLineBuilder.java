@@ -0,0 +1,215 @@
+/**
+ * ****************************************************************
+ * File: 			GraphLineBuilder.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To create the lines that draw a channel's
+ * 					states on a graph. When several transitions
+ * 					land in the same pixel column, they are drawn
+ * 					as a single vertical line, so a graph never has
+ * 					more than about two lines for each pixel no
+ * 					matter how busy the channel is.
+ *
+ * 					Pixel columns are counted from time 0 instead of
+ * 					from the left edge of the graph, so a time is
+ * 					always drawn in the same column. This lets a
+ * 					graph that has moved by a few columns be shifted
+ * 					over and only have the new columns drawn.
+ *
+ * ****************************************************************
+ */
+package objects.graphs;
+
+import objects.TransitionStore;
+
+public class GraphLineBuilder
+{
+	/**
+	 * The number of columns off each side of a graph that should be included when it is drawn.
+	 * The state lines are two pixels wide, so lines just off the graph can still reach onto it.
+	 */
+	public static final int EDGE_COLUMNS = 2;
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Graph Line Builder Methods
+
+	/**
+	 * Fills the line buffer with the graph lines to be drawn for the transitions between start and end.
+	 *
+	 * Each transition has a horizontal line at its state that runs until the next transition, and a vertical line where it starts.
+	 * All of the transitions that fall in the same pixel column only draw single points and vertical lines at that column, so they
+	 * are replaced with one vertical line. This shows that the column had activity, and looks exactly the same as drawing them all.
+	 *
+	 * @param graphLines - the buffer the lines are added to. It is cleared first.
+	 * @param scale - pixels per millisecond
+	 * @param first - the first column to be graphed. Anything before it is drawn at this column.
+	 * @param last - the last column to be graphed. The last transition's line runs to this column.
+	 * @param origin - the column that is drawn at pixel 0
+	 * @param transitions - the channel's transitions
+	 * @param start - index of the first element to be graphed
+	 * @param end - index after the last element to be graphed
+	 * @param top - graph top line pixel location
+	 * @param bottom - graph bottom line pixel location
+	 */
+	public static void createGraphLines(LineBuffer graphLines, double scale, long first, long last, long origin, TransitionStore transitions, int start, int end, double top, double bottom)
+	{
+		graphLines.clear();
+
+		// This gets reassigned as we loop through each of the objects to be drawn.
+		long previousColumn = last;
+
+		// Loop through all of the objects to be graphed.
+		// NOTE: These are listed in reverse order
+		int i = end - 1;
+
+		while (i >= start)
+		{
+			// Get the column of the left side of the line, and the right side which is where the previous line started
+			long lineLeft = Math.max(getColumn(transitions.getMilli(i), scale), first);
+
+			int lineLeftPx = (int) (lineLeft - origin);
+			int lineRightPx = (int) (previousColumn - origin);
+
+			// Get the location in pixels of where the horizontal line is to be drawn
+			// NOTE: With the java graphics api, point (0, 0) is located in the TOP LEFT of the screen, not bottom Left.
+			int horizontal = (int) ((transitions.getState(i) == 0) ? top : bottom);
+
+			// Add the horizontal line to the buffer to be drawn
+			graphLines.add(lineLeftPx, horizontal, lineRightPx, horizontal);
+
+			// If the current index is not the last one to be drawn, we need to create a vertical line for it
+			if (i != start)
+			{
+				// Add the vertical line to the buffer
+				graphLines.add(lineLeftPx, (int) bottom, lineLeftPx, (int) top);
+			}
+
+			// Skip the rest of the transitions in this pixel column, since they are covered by the vertical line
+			i = findColumnStart(transitions, scale, first, start, i, lineLeft);
+
+			// Re-assign the previous column.
+			previousColumn = lineLeft;
+
+			i--;
+		}
+	}
+
+	/**
+	 * Fills the line buffer with the vertical tick marks for a graph, spaced out from the center line in both directions.
+	 *
+	 * @param ticks - the buffer the tick marks are added to. It is cleared first.
+	 * @param width - graph width in pixels
+	 * @param height - graph height in pixels
+	 * @param seconds - graph width in seconds
+	 */
+	public static void createTickLines(LineBuffer ticks, int width, int height, double seconds)
+	{
+		// FIXME: This needs to reflect a changeable number of tick lines per graph and not a fixed amount
+		int lWidth = width / 2;
+		int rWidth = width / 2;
+
+		int ticksPer = 4;
+
+		if (seconds < .5)
+			ticksPer *= 4;
+		else if (seconds > 16)
+			ticksPer = 2;
+
+		// Never let the gap reach 0, or a narrow graph would never finish adding ticks
+		int lGap = Math.max((int) (lWidth / (seconds * ticksPer)), 1);
+		int rGap = Math.max((int) (rWidth / (seconds * ticksPer)), 1);
+
+		ticks.clear();
+
+		for (int i = lWidth; i > 0; i -= lGap)
+		{
+			ticks.add(i, 0, i, height);
+		}
+
+		for (int i = lWidth; i < width + 1; i += rGap)
+		{
+			ticks.add(i, 0, i, height);
+		}
+	}
+
+	/**
+	 * Returns the number of pixels per millisecond for a graph that is gw pixels wide and shows gSeconds seconds.
+	 *
+	 * @param gw - graph width in pixels
+	 * @param gSeconds - graph width in seconds
+	 * @return
+	 */
+	public static double getScale(int gw, double gSeconds)
+	{
+		return gw / (gSeconds * 1000);
+	}
+
+	/**
+	 * Returns the column that a time is drawn in.
+	 *
+	 * @param time - time in milliseconds
+	 * @param scale - pixels per millisecond
+	 * @return
+	 */
+	public static long getColumn(double time, double scale)
+	{
+		return (long) Math.floor(scale * time);
+	}
+
+	/**
+	 * Returns the first millisecond that is drawn in the column or after it.
+	 *
+	 * @param column
+	 * @param scale - pixels per millisecond
+	 * @return
+	 */
+	public static long getFirstTime(long column, double scale)
+	{
+		long time = (long) Math.ceil(column / scale);
+
+		// Correct for any rounding in the division, so this always agrees with getColumn
+		while (getColumn(time - 1, scale) >= column)
+			time--;
+
+		while (getColumn(time, scale) < column)
+			time++;
+
+		return time;
+	}
+
+	/**
+	 * Returns the index of the first transition between start and index that is drawn in the same pixel column as the transition at index.
+	 * Usually the transition before is in a different column, so that is checked first before searching.
+	 *
+	 * @param transitions
+	 * @param scale
+	 * @param first
+	 * @param start
+	 * @param index
+	 * @param column
+	 * @return
+	 */
+	private static int findColumnStart(TransitionStore transitions, double scale, long first, int start, int index, long column)
+	{
+		if (index == start || Math.max(getColumn(transitions.getMilli(index - 1), scale), first) < column)
+			return index;
+
+		// Binary search for the first transition that is not to the left of the column
+		int lo = start;
+		int hi = index - 1;
+
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+
+			if (Math.max(getColumn(transitions.getMilli(mid), scale), first) < column)
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+
+		return lo;
+	}
+}
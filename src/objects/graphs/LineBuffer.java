@@ -0,0 +1,121 @@
+/**
+ * ****************************************************************
+ * File: 			LineBuffer.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To hold the end points of the lines drawn on a
+ * 					graph in a single int array that is cleared and
+ * 					filled again every time the graph is updated,
+ * 					so that playback does not create new line
+ * 					objects for every frame.
+ *
+ * ****************************************************************
+ */
+package objects.graphs;
+
+public class LineBuffer
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Line Buffer Variable Declarations
+
+	/**
+	 * The number of lines the buffer holds when it is first created
+	 */
+	private static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * Used for storing the points of each line as x0, y0, x1, y1
+	 */
+	private int[] coordinates;
+
+	/**
+	 * Used for keeping track of how many lines are stored.
+	 *
+	 * NOTE: This is volatile and is always written after the coordinates, so the graph can be painted while
+	 * 		 it is being filled without reading past the end of the array.
+	 */
+	private volatile int size;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Line Buffer Construction
+
+	/**
+	 * Creates an empty line buffer
+	 */
+	public LineBuffer()
+	{
+		coordinates = new int[DEFAULT_CAPACITY * 4];
+		size = 0;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Line Buffer Setters
+
+	/**
+	 * Removes all of the lines from the buffer. The array is kept so it can be filled again.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+
+	/**
+	 * Adds a line to the end of the buffer
+	 * @param x0
+	 * @param y0
+	 * @param x1
+	 * @param y1
+	 */
+	public void add(int x0, int y0, int x1, int y1)
+	{
+		int n = size;
+		int index = n * 4;
+
+		// Grow the array if there is no room left for the new line
+		if (index + 4 > coordinates.length)
+		{
+			int[] newCoordinates = new int[coordinates.length * 2];
+			System.arraycopy(coordinates, 0, newCoordinates, 0, index);
+			coordinates = newCoordinates;
+		}
+
+		coordinates[index] = x0;
+		coordinates[index + 1] = y0;
+		coordinates[index + 2] = x1;
+		coordinates[index + 3] = y1;
+
+		// Publish the new line by updating the size last
+		size = n + 1;
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Line Buffer Getters
+
+	/**
+	 * Returns the number of lines in the buffer
+	 * @return
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the array holding the points of each line as x0, y0, x1, y1.
+	 *
+	 * NOTE: The array is replaced when the buffer grows, so read size() first and only use the lines that fit in the array returned.
+	 * @return
+	 */
+	public int[] getCoordinates()
+	{
+		return coordinates;
+	}
+}
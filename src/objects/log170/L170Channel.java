@@ -12,7 +12,7 @@
  */
 package objects.log170;
 
-import java.util.Vector;
+import objects.TransitionStore;
 
 public class L170Channel implements Comparable<L170Channel>
 {
@@ -22,20 +22,18 @@ public class L170Channel implements Comparable<L170Channel>
 	private int bit;
 	
 	/**
-	 * Used for keeping track of the current element so we can easily jump forwards
-	 * or backwards to the event were looking for
+	 * Used for remembering where the last graph window started and ended, so that searching for the next
+	 * window during playback only has to look at the elements between the two windows.
+	 * 
+	 * NOTE: These are only hints for the search, so it does not matter if two threads update them at once.
 	 */
-	private int currentJumpElementIndex;
+	private int startCursor;
+	private int endCursor;
 
 	/**
 	 * Stores all of the elements for the specific channel in chronological order
 	 */
-	private Vector<L170Object> objects;
-	
-	/**
-	 * Returns a subset of the states that are to be graphed
-	 */
-	private Vector<L170Object> graphObjects;
+	private TransitionStore objects;
 	
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -49,7 +47,18 @@ public class L170Channel implements Comparable<L170Channel>
 	public L170Channel(int bit)
 	{
 		this.bit = bit;
-		objects = new Vector<L170Object>();
+		objects = new TransitionStore();
+	}
+
+	/**
+	 *  Construct a new Log 170 Channel Object with a specific bit number that uses the transitions passed
+	 * @param bit
+	 * @param objects
+	 */
+	public L170Channel(int bit, TransitionStore objects)
+	{
+		this.bit = bit;
+		this.objects = objects;
 	}
 
 
@@ -67,21 +76,70 @@ public class L170Channel implements Comparable<L170Channel>
 	}
 	
 	/**
-	 * Return the array with all of this channel's objects
+	 *  Returns the store holding all of this channel's elements
 	 * @return
 	 */
-	public Vector<L170Object> getObjects()
+	public TransitionStore getTransitions()
 	{
 		return this.objects;
 	}
 	
 	/**
-	 *  Add a 170 Object to the objects array
-	 * @param object
+	 *  Returns the number of elements this channel has
+	 * @return
+	 */
+	public int size()
+	{
+		return objects.size();
+	}
+
+	/**
+	 *  Returns the millisecond time of the element at the index
+	 * @param index
+	 * @return
+	 */
+	public long getMilli(int index)
+	{
+		return objects.getMilli(index);
+	}
+
+	/**
+	 *  Returns the state of the element at the index
+	 * @param index
+	 * @return
+	 */
+	public int getState(int index)
+	{
+		return objects.getState(index);
+	}
+
+	/**
+	 *  Add an element to the end of the objects array
+	 * @param milli
+	 * @param state
+	 */
+	public void addObject(long milli, int state)
+	{
+		objects.add(milli, state);
+	}
+
+	/**
+	 *  Insert an element at the index, moving all subsequent elements by +1
+	 * @param index
+	 * @param milli
+	 * @param state
 	 */
-	public void addObject(L170Object object)
+	public void insertObject(int index, long milli, int state)
 	{
-		objects.add(object);
+		objects.insert(index, milli, state);
+	}
+
+	/**
+	 *  Release any unused space in the objects array once loading has finished
+	 */
+	public void trimToSize()
+	{
+		objects.trimToSize();
 	}
 	
 	
@@ -103,142 +161,43 @@ public class L170Channel implements Comparable<L170Channel>
 	// -- L170Channel Event Retrieval Methods
 
 	/**
-	 * Returns all of the states between the min and max time, centered around the current time.
+	 * Returns the index of the first element to be graphed for a window starting at minTime.
+	 * This is the last element before minTime, since its state is what is shown at the left edge of the graph.
 	 * @param minTime
-	 * @param currentTime
-	 * @param maxTime
 	 * @return
 	 */
-	public Vector<L170Object> getStates(long minTime, long currentTime, long maxTime)
-	{		
-		// Assign/Re-assign the graph objects for storing the objects to be graphed
-		graphObjects = new Vector<L170Object>();
-				
-		// Flag to check if we have found a valid object
-		boolean found = false;
-		
-		// Start at the beginning of the array and work towards the end searching for any objects
-		for (int i = 0; i < objects.size(); i++)
-		{
-			// Assign a 170 object to be checked against
-			L170Object o1 = objects.elementAt(i);
-			
-			// Check to see if right is less than the object
-			if (maxTime < o1.getMilli())
-			{
-				// Since we found an object to use, we won't have to find one going from the end of the array
-				found = true;
-				
-				// As long as we are not looking at the element at index 0, we can find all previous elements
-				if (i > 0)
-				{
-					// Get all previous elements starting at index i, and ones that are greater than left
-					getPreviousElements(i, currentTime, minTime);
-				}
-				
-				break;
-			}			
-		}
+	public int getStartIndex(long minTime)
+	{
+		// The element before the first one at or after minTime
+		int index = Math.max(objects.indexAfter(minTime - 1, startCursor) - 1, 0);
 		
-		// If we did not find a valid object, we go to the end of the array and get the first object that we can use
-		if (!found)
-		{
-			// Start at the end of the array and work towards the start
-			for (int i = objects.size()-1; i > 0; i--)
-			{
-				// Assign a 170 object to be checked against
-				L170Object o1 = objects.elementAt(i);
-				
-				// If the 170 object's millisecond time is less than the minimum time we are looking for,
-				// we add it to the graph objects. It should be the only one we add
-				if (minTime > o1.getMilli())
-				{
-					graphObjects.add(o1);
-					break;
-				}
-			}
-		}
+		startCursor = index;
 		
-		return graphObjects;
-	}	
+		return index;
+	}
 	
 	/**
-	 *  Get all previous elements starting from the index, and that are greater than left
-	 * @param index
-	 * @param currentTime
-	 * @param left
+	 * Returns the index after the last element to be graphed for a window ending at maxTime.
+	 * @param maxTime
+	 * @return
 	 */
-	private void getPreviousElements(int index, long currentTime, long left)
+	public int getEndIndex(long maxTime)
 	{
-		// The counter is used to help determine what index value to look at.
-		int counter = 1;
-		boolean done = false;
+		int index = objects.indexAfter(maxTime, endCursor);
 		
-		// This tells us we need to set the current jump-to index.
-		boolean setJumpIndex = true;
-
-		while (!done)
-		{
-			// Get the new index value to use
-			int newIndex = index - counter;
-			
-			// If the new index value is greater than 0, retrieve the element at that position
-			if (newIndex >= 0)
-			{		
-				// Assign a 170 object from the selected index
-				L170Object o = objects.elementAt(newIndex);
-				
-				// Add the 170 object to the graphObjects array
-				graphObjects.add(o);
-	
-				if (setJumpIndex && o.getMilli() <= currentTime)
-				{
-					currentJumpElementIndex = newIndex;
-					setJumpIndex = false;
-				}
-
-				// If the current object is less than left, we have finished searching through the array.
-				if (o.getMilli() < left)
-				{
-					done = true;
-				}
-			}
-			// If we reach this else there is nothing left to check, so we are done
-			else
-			{
-				done = true;
-			}
-			
-			// Increment the counter for use with the next index
-			counter++;
-		}
+		endCursor = index;
+		
+		return index;
 	}
-
+	
 	/**
-	 *  Returns the currentJumpElementIndex
+	 * Returns the index of the last element at or before the time, or -1 if the time is before the first element.
+	 * This is the element that sets the channel's state at that time.
+	 * @param time
 	 * @return
 	 */
-	public int getCurrentJumpElementIndex()
+	public int getIndexAtTime(long time)
 	{
-		return this.currentJumpElementIndex;
+		return objects.indexAfter(time, endCursor) - 1;
 	}
 }
-
-
-
-
-
-
-// -- These are to be removed
-//	THESE TWO METHODS WILL EVENTUALLY BE REPLACED BY THE NEW MILLISECOND VERSIONS
-//private boolean[] sixtyData;
-//
-//public void setSixtyData(boolean[] sixtyData)
-//{
-//	this.sixtyData = sixtyData;
-//}
-//
-//public boolean[] getSixtyData()
-//{
-//	return this.sixtyData;
-//}
@@ -0,0 +1,22 @@
+/**
+ * ****************************************************************
+ * File: 			RenderableGraph.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To let any view that draws graph lines have them
+ * 					calculated by the Thread Graph Render thread.
+ *
+ * ****************************************************************
+ */
+package threads;
+
+public interface RenderableGraph
+{
+	/**
+	 * Calculates the graph's lines from the settings that were saved when it was last updated.
+	 *
+	 * NOTE: This is called by the render thread, so anything the view draws must be handed back to the event dispatch thread.
+	 */
+	public void renderGraph();
+}
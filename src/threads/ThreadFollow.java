@@ -0,0 +1,170 @@
+/**
+ * ****************************************************************
+ * File: 			ThreadFollow.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To watch the data files that are still being
+ * 					recorded and read any lines that are added to
+ * 					them, so the graphs keep up with a study that is
+ * 					running without having to reopen the directory.
+ *
+ * ****************************************************************
+ */
+package threads;
+
+import java.io.IOException;
+
+import javax.swing.SwingUtilities;
+
+import models.DataModel;
+import analyzers.C1Analyzer;
+import analyzers.L170Analyzer;
+
+public class ThreadFollow extends Thread
+{
+	/**
+	 * The number of milliseconds to wait between checking the files for new data
+	 */
+	private static final int POLL_INTERVAL = 1000;
+
+	/**
+	 * Used for keeping the thread running as long as necessary. This starts out true, so that stopThread works even
+	 * if it is called before the thread has started running.
+	 */
+	private volatile boolean threadAlive = true;
+
+	/**
+	 * Used for letting the Data Model know when new data has been read
+	 */
+	private DataModel dm;
+
+	/**
+	 * The analyzers for the files being followed. Either of these can be null if that file is not being followed.
+	 */
+	private L170Analyzer l170Analyzer;
+	private C1Analyzer c1Analyzer;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thread Follow Construction
+
+	/**
+	 * Creates the Thread Follow thread with the data model and the analyzers of the files to follow
+	 *
+	 * @param dm
+	 * @param l170Analyzer
+	 * @param c1Analyzer
+	 */
+	public ThreadFollow(DataModel dm, L170Analyzer l170Analyzer, C1Analyzer c1Analyzer)
+	{
+		super("Data Follow");
+
+		// Set the local data model and analyzer variables to the ones passed.
+		this.dm = dm;
+		this.l170Analyzer = l170Analyzer;
+		this.c1Analyzer = c1Analyzer;
+	}
+
+	/**
+	 * Checks the files for new data until stopThread is called
+	 */
+	public void run()
+	{
+		// Find where each file's new data will start. A file that can't be followed is left out.
+		if (l170Analyzer != null)
+		{
+			try
+			{
+				l170Analyzer.startFollowing();
+			}
+			catch (IOException e)
+			{
+				e.printStackTrace();
+				l170Analyzer = null;
+			}
+		}
+
+		if (c1Analyzer != null)
+		{
+			try
+			{
+				c1Analyzer.startFollowing();
+			}
+			catch (IOException e)
+			{
+				e.printStackTrace();
+				c1Analyzer = null;
+			}
+		}
+
+		// Run as long as threadAlive is true and there is something to follow
+		while (this.threadAlive && (l170Analyzer != null || c1Analyzer != null))
+		{
+			// Wait before checking the files again
+			try
+			{
+				Thread.sleep(POLL_INTERVAL);
+			}
+			catch (InterruptedException e)
+			{
+				// We were interrupted by stopThread, so check threadAlive again
+				continue;
+			}
+
+			boolean changed = false;
+
+			if (l170Analyzer != null)
+			{
+				try
+				{
+					changed |= l170Analyzer.readAppended();
+				}
+				catch (IOException e)
+				{
+					e.printStackTrace();
+					l170Analyzer = null;
+				}
+			}
+
+			if (c1Analyzer != null)
+			{
+				try
+				{
+					changed |= c1Analyzer.readAppended();
+				}
+				catch (IOException e)
+				{
+					e.printStackTrace();
+					c1Analyzer = null;
+				}
+			}
+
+			// Let the data model know about the new data on the event dispatch thread, since that is where the observers update the views.
+			if (changed && this.threadAlive)
+			{
+				SwingUtilities.invokeLater(new Runnable()
+				{
+					public void run()
+					{
+						// The files may have been replaced since the data was read, in which case the thread has been stopped
+						if (threadAlive)
+							dm.dataAppended();
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Tells the thread to stop running by setting the threadAlive to false.
+	 */
+	public void stopThread()
+	{
+		this.threadAlive = false;
+
+		// Wake the thread up if it is waiting to check the files again
+		this.interrupt();
+	}
+}
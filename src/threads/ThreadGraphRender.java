@@ -0,0 +1,117 @@
+/**
+ * ****************************************************************
+ * File: 			ThreadGraphRender.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To calculate the lines for the graphs in the
+ * 					background, so the event dispatch thread only
+ * 					has to draw them. Each graph is only waiting to
+ * 					be calculated once at a time, so when the graphs
+ * 					can't keep up with playback the positions that
+ * 					were missed are skipped instead of queuing up.
+ *
+ * ****************************************************************
+ */
+package threads;
+
+import java.util.LinkedHashSet;
+
+public class ThreadGraphRender extends Thread
+{
+	/**
+	 * Used for keeping the thread running as long as necessary.
+	 */
+	private volatile boolean threadAlive = false;
+
+	/**
+	 * Used for storing the graphs waiting to be calculated, in the order they were requested.
+	 * A graph that is requested again before it has been calculated is only stored once.
+	 */
+	private LinkedHashSet<RenderableGraph> pending = new LinkedHashSet<RenderableGraph>();
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thread Graph Render Construction
+
+	/**
+	 * Creates the Thread Graph Render thread. It does not keep the application from exiting.
+	 */
+	public ThreadGraphRender()
+	{
+		super("Graph Render");
+
+		this.setDaemon(true);
+	}
+
+	/**
+	 * Calculates the graphs as they are requested until stopThread is called
+	 */
+	public void run()
+	{
+		// Set the threadAlive to true upon starting the thread.
+		this.threadAlive = true;
+
+		// Run as long as threadAlive is true
+		while (this.threadAlive)
+		{
+			RenderableGraph[] graphs;
+
+			synchronized (this)
+			{
+				// Wait until there is a graph to calculate
+				while (this.threadAlive && pending.isEmpty())
+				{
+					try
+					{
+						this.wait();
+					}
+					catch (InterruptedException e)
+					{
+						// We were interrupted by stopThread, so check threadAlive again
+					}
+				}
+
+				// Take all of the graphs that are waiting, so new requests can come in while they are being calculated
+				graphs = pending.toArray(new RenderableGraph[pending.size()]);
+				pending.clear();
+			}
+
+			for (RenderableGraph gp : graphs)
+			{
+				try
+				{
+					gp.renderGraph();
+				}
+				catch (RuntimeException e)
+				{
+					// A graph that fails to calculate shouldn't stop the rest of them from being updated
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Asks for the graph to be calculated. If it is already waiting to be calculated, this does nothing.
+	 *
+	 * @param gp
+	 */
+	public synchronized void requestRender(RenderableGraph gp)
+	{
+		if (pending.add(gp))
+			this.notify();
+	}
+
+	/**
+	 * Tells the thread to stop running by setting the threadAlive to false.
+	 */
+	public synchronized void stopThread()
+	{
+		this.threadAlive = false;
+
+		// Wake the thread up if it is waiting for a graph
+		this.notify();
+	}
+}
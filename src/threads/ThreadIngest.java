@@ -0,0 +1,330 @@
+/**
+ * ****************************************************************
+ * File: 			ThreadIngest.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To analyze all of the data files for a session
+ * 					at the same time on background threads, and to
+ * 					hand the results to the Data Model together once
+ * 					every file has finished, so the UI never hangs
+ * 					while the data is being loaded.
+ *
+ * ****************************************************************
+ */
+package threads;
+
+import java.awt.Component;
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingUtilities;
+
+import models.DataModel;
+import analyzers.C1Analyzer;
+import analyzers.C1Maxim;
+import analyzers.L170Analyzer;
+
+public class ThreadIngest extends Thread
+{
+	/**
+	 * The number of milliseconds between each update of the progress monitor
+	 */
+	private static final long PROGRESS_INTERVAL = 100;
+
+	/**
+	 * The number of bytes in each unit of progress. The progress monitor only counts in ints, so it counts kilobytes
+	 * to be able to show files larger than 2GB.
+	 */
+	private static final int PROGRESS_UNIT = 1024;
+
+	/**
+	 * Used for handing the finished analysis over to the Data Model
+	 */
+	private DataModel dm;
+
+	/**
+	 * Used for displaying the progress of the analysis to the user
+	 */
+	private ProgressMonitor monitor;
+
+	/**
+	 * The data files to be analyzed. Any of these can be null if that type of file is not being loaded.
+	 */
+	private File l170File;
+	private File c1File;
+	private File c1MaximFile;
+
+	/**
+	 * Used for keeping track of how many files need to be analyzed, and how many have finished
+	 */
+	private int total;
+	private int completed = 0;
+
+	/**
+	 * Used for counting the bytes that the analyzers have read out of all of the files, which is what the progress monitor shows
+	 */
+	private AtomicLong progress = new AtomicLong();
+
+	/**
+	 * Used for remembering that the user canceled the load. The progress monitor closes itself once every byte
+	 * has been read, and after that it no longer reports that it was canceled, so it has to be checked before each update.
+	 */
+	private volatile boolean canceled = false;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thread Ingest Construction
+
+	/**
+	 * Creates the Thread Ingest thread with the data model and the files to be analyzed.
+	 *
+	 * @param dm
+	 * @param parent - the component the progress dialog is displayed over
+	 * @param l170File
+	 * @param c1File
+	 * @param c1MaximFile
+	 */
+	public ThreadIngest(DataModel dm, Component parent, File l170File, File c1File, File c1MaximFile)
+	{
+		super("Data Ingest");
+
+		// Set the local data model and file variables to the ones passed.
+		this.dm = dm;
+		this.l170File = l170File;
+		this.c1File = c1File;
+		this.c1MaximFile = c1MaximFile;
+
+		// Count the number of files we will be analyzing, and the number of bytes in them
+		this.total = ((l170File != null) ? 1 : 0) + ((c1File != null) ? 1 : 0) + ((c1MaximFile != null) ? 1 : 0);
+
+		long size = ((l170File != null) ? l170File.length() : 0) + ((c1File != null) ? c1File.length() : 0)
+				+ ((c1MaximFile != null) ? c1MaximFile.length() : 0);
+
+		// Create the progress monitor. It will only be displayed if the analysis looks like it will take longer than a couple of seconds.
+		// The monitor only starts timing once the progress has been set, so it is set to 0 straight away.
+		// NOTE: This is created by the menu commands, so it is already on the event dispatch thread.
+		this.monitor = new ProgressMonitor(parent, "Loading data files", "", 0, (int) Math.max(size / PROGRESS_UNIT, 1));
+		this.monitor.setProgress(0);
+	}
+
+	/**
+	 * Analyzes every file on its own thread and publishes the results once they have all finished.
+	 * If the user cancels the load, the analysis is stopped and nothing is published.
+	 */
+	public void run()
+	{
+		// If there is nothing to load, then we are done
+		if (total == 0)
+		{
+			closeMonitor();
+			return;
+		}
+
+		// Only create as many threads as there are files or processors, whichever is smaller.
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(total, Runtime.getRuntime().availableProcessors()));
+
+		// Start analyzing each of the files. Every file gets its own new analyzer so the data that is
+		// currently being displayed is not touched until the new data is ready to replace it.
+		Future<L170Analyzer> l170Result = null;
+		Future<C1Analyzer> c1Result = null;
+		Future<C1Maxim> c1MaximResult = null;
+
+		if (l170File != null)
+		{
+			l170Result = pool.submit(new Callable<L170Analyzer>()
+			{
+				public L170Analyzer call()
+				{
+					L170Analyzer analyzer = new L170Analyzer();
+					analyzer.performAnalysis(l170File, progress);
+					fileCompleted(l170File);
+					return analyzer;
+				}
+			});
+		}
+
+		if (c1File != null)
+		{
+			c1Result = pool.submit(new Callable<C1Analyzer>()
+			{
+				public C1Analyzer call()
+				{
+					C1Analyzer analyzer = new C1Analyzer();
+					analyzer.performAnalysis(c1File, progress);
+					fileCompleted(c1File);
+					return analyzer;
+				}
+			});
+		}
+
+		if (c1MaximFile != null)
+		{
+			c1MaximResult = pool.submit(new Callable<C1Maxim>()
+			{
+				public C1Maxim call()
+				{
+					C1Maxim analyzer = new C1Maxim();
+					analyzer.performAnalysis(c1MaximFile, progress);
+					fileCompleted(c1MaximFile);
+					return analyzer;
+				}
+			});
+		}
+
+		// No more work will be submitted, so let the threads end once the analysis is done.
+		pool.shutdown();
+
+		// Show the number of bytes that have been read until every file has finished
+		try
+		{
+			while (!pool.awaitTermination(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS))
+			{
+				// If the user canceled the load, then stop analyzing the files instead of waiting for them to finish
+				if (canceled)
+				{
+					cancel(l170Result);
+					cancel(c1Result);
+					cancel(c1MaximResult);
+					pool.shutdownNow();
+
+					closeMonitor();
+					return;
+				}
+
+				updateProgress();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+
+		// Wait for every file to finish. A file that fails to load is left out, but the others are still used.
+		final L170Analyzer l170Analyzer = getResult(l170Result);
+		final C1Analyzer c1Analyzer = getResult(c1Result);
+		final C1Maxim c1MaximAnalyzer = getResult(c1MaximResult);
+
+		// Hand everything to the data model at once on the event dispatch thread, since that is where the observers update the views.
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				// If the user canceled the load, then the new data is not used.
+				// NOTE: Opening a directory has already removed the old data, so this only keeps the current data when importing a file.
+				if (!isCanceled())
+					dm.setSessionData(l170Analyzer, l170File, c1Analyzer, c1MaximAnalyzer);
+
+				monitor.close();
+			}
+		});
+	}
+
+	/**
+	 * Waits for the analysis to finish and returns it, or null if there was no analysis or it failed.
+	 * @param result
+	 * @return
+	 */
+	private <T> T getResult(Future<T> result)
+	{
+		if (result == null)
+			return null;
+
+		try
+		{
+			return result.get();
+		}
+		catch (InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+		catch (ExecutionException e)
+		{
+			e.getCause().printStackTrace();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Stops the analysis of a file if it is still running, interrupting the thread that is analyzing it
+	 * @param result
+	 */
+	private void cancel(Future<?> result)
+	{
+		if (result != null)
+			result.cancel(true);
+	}
+
+	/**
+	 * Updates the note of the progress monitor once a file has finished being analyzed.
+	 * @param file
+	 */
+	private synchronized void fileCompleted(final File file)
+	{
+		final int count = ++completed;
+
+		// The progress monitor is a Swing component, so it must be updated on the event dispatch thread
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				monitor.setNote("Finished " + file.getName() + " (" + count + " of " + total + ")");
+			}
+		});
+	}
+
+	/**
+	 * Updates the progress monitor with the number of bytes that have been read so far.
+	 */
+	private void updateProgress()
+	{
+		final int read = (int) (progress.get() / PROGRESS_UNIT);
+
+		// The progress monitor is a Swing component, so it must be updated on the event dispatch thread
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				// Check for cancel first, since the monitor closes itself once the progress reaches the end
+				if (!isCanceled())
+					monitor.setProgress(read);
+			}
+		});
+	}
+
+	/**
+	 * Returns true if the user has canceled the load, remembering it once the progress monitor reports it.
+	 * This must be called on the event dispatch thread.
+	 * @return
+	 */
+	private boolean isCanceled()
+	{
+		if (monitor.isCanceled())
+			canceled = true;
+
+		return canceled;
+	}
+
+	/**
+	 * Closes the progress monitor on the event dispatch thread.
+	 */
+	private void closeMonitor()
+	{
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				monitor.close();
+			}
+		});
+	}
+}
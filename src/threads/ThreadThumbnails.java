@@ -0,0 +1,258 @@
+/**
+ * ****************************************************************
+ * File: 			ThreadThumbnails.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To take the thumbnails for a video's thumbnail
+ * 					index in the background. The video is opened in
+ * 					a second VLC player that draws into memory
+ * 					instead of onto the screen, so the player the
+ * 					user is watching is never moved.
+ *
+ * ****************************************************************
+ */
+package threads;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+import uk.co.caprica.vlcj.player.MediaPlayerFactory;
+import uk.co.caprica.vlcj.player.direct.BufferFormat;
+import uk.co.caprica.vlcj.player.direct.BufferFormatCallback;
+import uk.co.caprica.vlcj.player.direct.DirectMediaPlayer;
+import uk.co.caprica.vlcj.player.direct.RenderCallbackAdapter;
+import uk.co.caprica.vlcj.player.direct.format.RV32BufferFormat;
+import views.videos.ThumbnailIndex;
+
+public class ThreadThumbnails extends Thread
+{
+	/**
+	 * The width of each thumbnail. The height is set from the shape of the video.
+	 */
+	private static final int THUMBNAIL_WIDTH = 160;
+
+	/**
+	 * The longest number of milliseconds to wait for VLC to draw the frame after moving to a thumbnail's time
+	 */
+	private static final long FRAME_TIMEOUT = 1000;
+
+	/**
+	 * The number of thumbnails in a row that can fail before giving up, since VLC isn't able to draw this video after moving it
+	 */
+	private static final int MAX_MISSES = 5;
+
+	/**
+	 * Used for keeping the running as long as necessary.
+	 */
+	private volatile boolean threadAlive = true;
+
+	/**
+	 * Used for referencing the video to take the thumbnails from, and the index to store them in
+	 */
+	private File videoFile;
+	private ThumbnailIndex index;
+
+	/**
+	 * Used for storing the size of each thumbnail
+	 */
+	private int width;
+	private int height;
+
+	/**
+	 * Used for storing the length of the video in milliseconds, as reported by the player the user is watching
+	 */
+	private long length;
+
+	/**
+	 * Used for passing the frame drawn by VLC back to this thread. The time is the video time the thread is waiting
+	 * for a frame at, or -1 when it isn't waiting.
+	 */
+	private final Object frameLock = new Object();
+	private long wantedTime = -1;
+	private BufferedImage capturedFrame;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thread Thumbnails Construction
+
+	/**
+	 * Creates the thread for taking the thumbnails of a video
+	 *
+	 * @param videoFile
+	 * @param index - the index the thumbnails are stored in
+	 * @param length - the length of the video in milliseconds
+	 * @param size - the size of the video, for keeping the thumbnails the same shape
+	 */
+	public ThreadThumbnails(File videoFile, ThumbnailIndex index, long length, Dimension size)
+	{
+		super("Thumbnails: " + videoFile.getName());
+
+		this.videoFile = videoFile;
+		this.index = index;
+		this.length = length;
+
+		// Keep the thumbnails the same shape as the video, using 4:3 if VLC didn't know the video's size
+		this.width = THUMBNAIL_WIDTH;
+		this.height = (size != null && size.width > 0 && size.height > 0) ? Math.max(2, THUMBNAIL_WIDTH * size.height / size.width) : THUMBNAIL_WIDTH * 3 / 4;
+
+		// This thread shouldn't keep the program open or take time away from playback
+		setDaemon(true);
+		setPriority(Thread.MIN_PRIORITY);
+	}
+
+	/**
+	 * Takes a thumbnail at each interval of the video, and saves the index once all of them have been taken.
+	 */
+	public void run()
+	{
+		// Create a separate VLC instance without sound, so nothing from this player can be heard or seen
+		MediaPlayerFactory factory = new MediaPlayerFactory("--quiet", "--no-audio", "--no-video-title-show");
+
+		// Have VLC scale every frame to the thumbnail size as 32 bit RGB, which is what the render callback copies from
+		BufferFormatCallback format = new BufferFormatCallback()
+		{
+			public BufferFormat getBufferFormat(int sourceWidth, int sourceHeight)
+			{
+				return new RV32BufferFormat(width, height);
+			}
+		};
+
+		DirectMediaPlayer player = factory.newDirectMediaPlayer(format, new RenderCallbackAdapter(new int[width * height])
+		{
+			@Override
+			protected void onDisplay(DirectMediaPlayer mediaPlayer, int[] rgbBuffer)
+			{
+				frameDrawn(mediaPlayer, rgbBuffer);
+			}
+		});
+
+		try
+		{
+			// Start the video, and pause it so it only draws a frame when it is moved
+			if (!player.startMedia(videoFile.getAbsolutePath()))
+			{
+				System.err.println("Unable to open " + videoFile.getName() + " for thumbnails");
+				return;
+			}
+
+			player.pause();
+
+			if (player.getLength() > 0)
+				length = player.getLength();
+
+			index.setLength(length);
+
+			int misses = 0;
+
+			for (int i = 0; i < index.size() && threadAlive; i++)
+			{
+				BufferedImage frame = grabFrame(player, (long) i * ThumbnailIndex.INTERVAL);
+
+				if (frame != null)
+				{
+					index.set(i, frame);
+					misses = 0;
+				}
+				else if (++misses >= MAX_MISSES)
+				{
+					System.err.println("VLC is not drawing frames of " + videoFile.getName() + " for thumbnails, so they will not be taken");
+					return;
+				}
+			}
+
+			// Only save the index if every thumbnail was tried, so a partial index isn't used the next time
+			if (threadAlive)
+				index.save();
+		}
+		finally
+		{
+			player.release();
+			factory.release();
+		}
+	}
+
+	/**
+	 * Moves the player to the time and waits for VLC to draw the frame there.
+	 *
+	 * @param player
+	 * @param time - video time in milliseconds
+	 * @return the frame, or null if VLC didn't draw it in time
+	 */
+	private BufferedImage grabFrame(DirectMediaPlayer player, long time)
+	{
+		synchronized (frameLock)
+		{
+			wantedTime = time;
+			capturedFrame = null;
+		}
+
+		player.setTime(time);
+
+		synchronized (frameLock)
+		{
+			long end = System.currentTimeMillis() + FRAME_TIMEOUT;
+
+			try
+			{
+				while (capturedFrame == null && threadAlive)
+				{
+					long wait = end - System.currentTimeMillis();
+
+					if (wait <= 0)
+						break;
+
+					frameLock.wait(wait);
+				}
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				threadAlive = false;
+			}
+
+			wantedTime = -1;
+
+			return capturedFrame;
+		}
+	}
+
+	/**
+	 * Called by VLC each time it draws a frame. The frame is kept if the thread is waiting for it, which means the
+	 * player has reached the time being waited for. Frames that were already on the way before the player was moved are skipped.
+	 *
+	 * @param player
+	 * @param rgbBuffer
+	 */
+	private void frameDrawn(DirectMediaPlayer player, int[] rgbBuffer)
+	{
+		synchronized (frameLock)
+		{
+			if (wantedTime < 0 || Math.abs(player.getTime() - wantedTime) > ThumbnailIndex.INTERVAL / 2)
+				return;
+
+			BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			frame.setRGB(0, 0, width, height, rgbBuffer, 0, width);
+
+			capturedFrame = frame;
+			wantedTime = -1;
+
+			frameLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Tells the thread to stop taking thumbnails by setting the threadAlive to false. The index is not saved.
+	 */
+	public void stopThread()
+	{
+		this.threadAlive = false;
+
+		synchronized (frameLock)
+		{
+			frameLock.notifyAll();
+		}
+	}
+}
@@ -11,6 +11,7 @@
  */
 package views.menus;
 
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenuBar;
 import javax.swing.JMenu;
 import javax.swing.JMenuItem;
@@ -18,6 +19,7 @@ import java.awt.Color;
 
 import javax.swing.JSeparator;
 
+import commands.menu.CommandFollow;
 import commands.menu.CommandImport;
 import commands.menu.CommandInputMapping;
 import commands.menu.CommandOpen;
@@ -52,6 +54,7 @@ public class MainMenuBar extends JMenuBar
 	 * 'Tools' menu items
 	 */
 	private JMenuItem toolMenuMapping;
+	private JCheckBoxMenuItem toolMenuFollow;
 	
 	/**
 	 * 'Window' menu items
@@ -104,6 +107,10 @@ public class MainMenuBar extends JMenuBar
 		toolMenuMapping = new JMenuItem("Input Mapping");
 		toolsMenu.add(toolMenuMapping);
 		
+		// Create the 'Follow Data Files' menu item and add it to the 'Tools' menu
+		toolMenuFollow = new JCheckBoxMenuItem("Follow Data Files");
+		toolsMenu.add(toolMenuFollow);
+		
 		windowMenu = new JMenu("Window");
 		
 		windowMenuFront = new JMenuItem("Bring All To Front");		
@@ -167,6 +174,16 @@ public class MainMenuBar extends JMenuBar
 		toolMenuMapping.setText("Input Mapping");
 	}
 
+	/**
+	 * Sets the Follow Action Command to the 'Follow Data Files' menu item.
+	 * @param cf
+	 */
+	public void setFollowActionCommand(CommandFollow cf)
+	{
+		toolMenuFollow.setAction(cf);
+		toolMenuFollow.setText("Follow Data Files");
+	}
+
 	public void setWindowFrontActionCommand(CommandWindowFront cwf)
 	{
 		windowMenuFront.setAction(cwf);
@@ -28,7 +28,10 @@ import javax.swing.JTabbedPane;
 import javax.swing.KeyStroke;
 
 import models.DataModel;
+import threads.ThreadGraphRender;
 import views.menus.MainMenuBar;
+import views.tabbed_panels.graphs.ActivityOverviewPanel;
+import views.tabbed_panels.graphs.ChannelStripPanel;
 import views.tabbed_panels.graphs.GraphOptions;
 import views.tabbed_panels.graphs.GraphPanel;
 
@@ -41,6 +44,11 @@ public class DataWindow extends JFrame implements WindowListener
 {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The number of graph panels on the Graphs tab. Devices with more channels than this can be viewed on the Channels tab.
+	 */
+	private static final int GRAPH_COUNT = 8;
+
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	// -- Data Window Variable Declarations
@@ -59,6 +67,16 @@ public class DataWindow extends JFrame implements WindowListener
 	 * Used for containing all of the graphs in a common area
 	 */
 	private JPanel graphsPane;
+	
+	/**
+	 * Used for graphing every channel of a device at once
+	 */
+	private ChannelStripPanel channelStrips;
+	
+	/**
+	 * Used for showing the activity of every channel of a device across the whole session
+	 */
+	private ActivityOverviewPanel activityOverview;
 
 	/**
 	 * Used to contain the panelPlayback & panelEvent panels
@@ -75,6 +93,11 @@ public class DataWindow extends JFrame implements WindowListener
 	 */
 	private EventDetectionPane panelEvents;
 	
+	/**
+	 * Used for calculating the lines for all of the graphs in the background
+	 */
+	private ThreadGraphRender graphRender;
+	
 	/**
 	 * Used for notifying the DataModel of global application events
 	 * -- Application Shutdown
@@ -136,11 +159,15 @@ public class DataWindow extends JFrame implements WindowListener
 		// Add the tabbed pane to the center of the JFrame's content pane.
 		this.getContentPane().add(tabbedPane, BorderLayout.CENTER);
 		
-		// Create the graphs pane with 9 rows and 1 column.
-		graphsPane = new JPanel(new GridLayout(9, 1, 0, 0));
+		// Create and start the thread that calculates the graph lines
+		graphRender = new ThreadGraphRender();
+		graphRender.start();
+		
+		// Create the graphs pane with a row for the options and each of the graphs.
+		graphsPane = new JPanel(new GridLayout(GRAPH_COUNT + 1, 1, 0, 0));
 		
 		// Create all of the views necessary for the graphs
-		for (int i = 0; i < 9; i++)
+		for (int i = 0; i < GRAPH_COUNT + 1; i++)
 		{
 			// If i is 0, set the first panel item to the options
 			// otherwise add the graph panels to it
@@ -148,7 +175,7 @@ public class DataWindow extends JFrame implements WindowListener
 			if (i != 0)
 			{
 				// Create a new Graph panel object and have it observe the Data Model
-				GraphPanel gp = new GraphPanel();
+				GraphPanel gp = new GraphPanel(graphRender);
 				dm.addObserver(gp);
 				
 				// Add the graph panel to the graph pane
@@ -168,6 +195,21 @@ public class DataWindow extends JFrame implements WindowListener
 		// Add the Graphs Pane to the tabbed panel.
 		tabbedPane.addTab("Graphs", null, graphsPane, null);
 		
+		// Create the channel strips and have them observe the Data Model. They share the graph render thread,
+		// and only calculate the channels that are scrolled into view.
+		channelStrips = new ChannelStripPanel(graphRender);
+		dm.addObserver(channelStrips);
+		
+		// Add the Channel Strips to the tabbed panel.
+		tabbedPane.addTab("Channels", null, channelStrips, null);
+		
+		// Create the Activity Overview and have it observe the Data Model.
+		activityOverview = new ActivityOverviewPanel();
+		dm.addObserver(activityOverview);
+		
+		// Add the Activity Overview to the tabbed panel.
+		tabbedPane.addTab("Overview", null, activityOverview, null);
+		
 		// Add the SVO Panel to the tabbed panel.
 		//panelSVO = new SVOPanel();
 		//tabbedPane.addTab("SVO", null, panelSVO, null);
@@ -208,6 +250,7 @@ public class DataWindow extends JFrame implements WindowListener
 		mainMenuBar.setImportActionCommand(cl.getCommandImport());
 		mainMenuBar.setQuitActionCommand(cl.getCommandQuit());
 		mainMenuBar.setInputMappingActionCommand(cl.getCommandInputMapping());
+		mainMenuBar.setFollowActionCommand(cl.getCommandFollow());
 		mainMenuBar.setWindowFrontActionCommand(cl.getCommandWindowFront());
 		
 		panelOptions.setScaleActionCommand(cl.getCommandGraphScale());
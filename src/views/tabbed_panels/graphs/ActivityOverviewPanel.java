@@ -0,0 +1,440 @@
+/**
+ * ****************************************************************
+ * File: 			ActivityOverviewPanel.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To show how busy every channel of a device is
+ * 					across the whole session as a heat map, one row
+ * 					per channel, so the interesting parts of a long
+ * 					study can be found at a glance. Clicking on the
+ * 					map jumps to that time.
+ *
+ * ****************************************************************
+ */
+package views.tabbed_panels.graphs;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Vector;
+
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import models.DataModelChange;
+import models.DataModelProxy;
+import objects.DeviceInputMap;
+import objects.graphs.ActivityHistogram;
+
+@SuppressWarnings("unchecked")
+public class ActivityOverviewPanel extends JPanel implements ActionListener, Observer
+{
+	private static final long serialVersionUID = 1L;
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Overview Panel Variable Declarations
+
+	/**
+	 * The colors used for the least and most active parts of the map. Parts with no activity show the background.
+	 */
+	private static final Color QUIET_COLOR = new Color(255, 237, 160);
+	private static final Color BUSY_COLOR = new Color(189, 0, 38);
+
+	/**
+	 * Used to request the activity from the DataModelProxy, and to jump to a new time
+	 */
+	private DataModelProxy dmp;
+
+	/**
+	 * Used in selecting the device whose channels are shown
+	 */
+	private JComboBox combo_Devices;
+
+	/**
+	 * Used for drawing the heat map
+	 */
+	private ActivityMap map;
+
+	/**
+	 * Used for storing the name and channel number of each row, in the order they are shown
+	 */
+	private String[] channelNames = new String[0];
+	private int[] channelNumbers = new int[0];
+
+	/**
+	 * Used for storing the heat map, so it is only drawn again when the activity, size, or channels change
+	 */
+	private BufferedImage image;
+
+	/**
+	 * Used for remembering what the heat map image was drawn from
+	 */
+	private ActivityHistogram imageActivity;
+	private int imageVersion;
+	private long imageSpan;
+	private int[] imageChannels;
+
+	/**
+	 * Used for remembering the column the current position was last drawn in, so the map is only repainted when it moves
+	 */
+	private int markerColumn = -1;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Overview Panel Construction
+
+	/**
+	 * Creates the activity overview panel with the device selection along the top and the heat map below it.
+	 */
+	public ActivityOverviewPanel()
+	{
+		this.setLayout(new BorderLayout(0, 0));
+
+		// Create the control panel for selecting the device
+		JPanel panel_Control = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		this.add(panel_Control, BorderLayout.NORTH);
+
+		panel_Control.add(new JLabel("Device:"));
+
+		combo_Devices = new JComboBox();
+		combo_Devices.setEnabled(false);
+		combo_Devices.setModel(new DefaultComboBoxModel(new String[] {"Devices"}));
+		combo_Devices.setPreferredSize(new Dimension(113, 27));
+		combo_Devices.addActionListener(this);
+		panel_Control.add(combo_Devices);
+
+		panel_Control.add(new JLabel("Click on the map to jump to that time"));
+
+		// Create the heat map
+		map = new ActivityMap();
+		map.setBackground(Color.LIGHT_GRAY);
+		this.add(map, BorderLayout.CENTER);
+
+		// The map isn't kept up to date while it is hidden behind another tab, so catch up when it is shown
+		this.addComponentListener(new ComponentAdapter()
+		{
+			public void componentShown(ComponentEvent e)
+			{
+				map.repaint();
+			}
+		});
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Java Event Listeners
+	// -- NOTE: Also includes the Observer 'update' method
+
+	/**
+	 * Invoked when a device is selected
+	 */
+	@Override
+	public void actionPerformed(ActionEvent ae)
+	{
+		if (ae.getSource() == combo_Devices)
+		{
+			// Show all of the channels for the device, or nothing if no device is selected
+			if (combo_Devices.getSelectedIndex() <= 0 || dmp == null)
+				setChannels(null);
+			else
+				setChannels(dmp.getInputMapForDevice((String) combo_Devices.getSelectedItem()));
+		}
+	}
+
+	/**
+	 * Invoked when the Data Model sends out a notification that an event changed that requires the
+	 * observers to pay attention to the data coming in
+	 */
+	@Override
+	public void update(Observable arg0, Object arg1)
+	{
+		// If the notification is the device list, let the user pick from it
+		if (arg1 instanceof String[])
+		{
+			combo_Devices.setModel(new DefaultComboBoxModel((String[]) arg1));
+			setChannels(null);
+		}
+
+		// If the notification argument is a string, then either update the channels or clear the map
+		if (arg1 instanceof String && combo_Devices.getSelectedIndex() > 0)
+		{
+			if (((String) arg1).equals("Input"))
+				setChannels(this.dmp.getInputMapForDevice((String) combo_Devices.getSelectedItem()));
+
+			if (((String) arg1).equals("Reset"))
+				combo_Devices.setSelectedIndex(0);
+		}
+
+		// If the notification argument is the DataModelProxy, keep it and see if the map needs to be repainted
+		if (arg1 instanceof DataModelProxy)
+		{
+			dmp = (DataModelProxy) arg1;
+
+			if (dmp.dataLoaded())
+				combo_Devices.setEnabled(true);
+
+			// The map only shows the data and the current position
+			if (!this.isShowing() || !dmp.hasChanged(DataModelChange.POSITION, DataModelChange.DATA_LOADED))
+				return;
+
+			// Only repaint if the current position moved to another column, or the activity has changed since it was drawn.
+			// During playback this is nearly every notification, and the position only moves a column every so often.
+			ActivityHistogram activity = getActivity();
+
+			if (getMarkerColumn() != markerColumn || activity != imageActivity
+					|| (activity != null && (activity.getVersion() != imageVersion || dmp.getSliderMax() != imageSpan)))
+				map.repaint();
+		}
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Overview Panel Getters & Setters
+
+	/**
+	 * Sets the rows to the channels in the input map, or removes all of the rows if it is null.
+	 *
+	 * @param data - the device's input map
+	 */
+	private void setChannels(Vector<DeviceInputMap> data)
+	{
+		int size = (data == null) ? 0 : data.size();
+
+		String[] names = new String[size];
+		int[] numbers = new int[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			names[i] = data.elementAt(i).getChannelName();
+			numbers[i] = data.elementAt(i).getBitNumber();
+		}
+
+		channelNames = names;
+		channelNumbers = numbers;
+
+		map.repaint();
+	}
+
+	/**
+	 * Returns the activity for the selected device, or null if there isn't any
+	 * @return
+	 */
+	private ActivityHistogram getActivity()
+	{
+		if (dmp == null || combo_Devices.getSelectedIndex() <= 0)
+			return null;
+
+		return dmp.getActivityForDevice((String) combo_Devices.getSelectedItem());
+	}
+
+	/**
+	 * Returns the column of the map that the current position is in
+	 * @return
+	 */
+	private int getMarkerColumn()
+	{
+		int span = dmp.getSliderMax();
+
+		if (span <= 0)
+			return -1;
+
+		return (int) (dmp.getCurrentPosition() * map.getWidth() / span);
+	}
+
+	/**
+	 * Draws the heat map image. Each row's transitions are counted for every column, and the counts are colored on a
+	 * log scale against the busiest column of any row, so a few very busy channels don't wash out all of the others.
+	 *
+	 * @param activity
+	 * @param span - the length of the session in milliseconds
+	 * @param width
+	 * @param height
+	 */
+	private void createHeatMap(ActivityHistogram activity, long span, int width, int height)
+	{
+		int[] channels = channelNumbers;
+		int rows = channels.length;
+
+		// Count every row first, so the busiest column is known before any of them are colored
+		int version = activity.getVersion();
+		int[][] counts = new int[rows][width];
+		int max = 0;
+
+		for (int r = 0; r < rows; r++)
+		{
+			activity.getColumnCounts(channels[r], span, counts[r]);
+
+			for (int x = 0; x < width; x++)
+				max = Math.max(max, counts[r][x]);
+		}
+
+		double logMax = Math.log(1 + max);
+		int background = map.getBackground().getRGB();
+
+		int[] pixels = new int[width * height];
+		int[] rowColors = new int[width];
+
+		for (int r = 0; r < rows; r++)
+		{
+			// Color the columns of the row
+			for (int x = 0; x < width; x++)
+			{
+				int count = counts[r][x];
+
+				if (count == 0)
+					rowColors[x] = background;
+				else
+					rowColors[x] = getHeatColor((max == 1) ? 1 : Math.log(1 + count) / logMax);
+			}
+
+			// Fill in every line of pixels the row covers. The rows share the height as evenly as they can.
+			int top = r * height / rows;
+			int bottom = (r + 1) * height / rows;
+
+			for (int y = top; y < bottom; y++)
+				System.arraycopy(rowColors, 0, pixels, y * width, width);
+		}
+
+		// Fill in anything below the last row with the background
+		int filled = (rows == 0) ? 0 : height;
+
+		for (int i = filled * width; i < pixels.length; i++)
+			pixels[i] = background;
+
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		image.setRGB(0, 0, width, height, pixels, 0, width);
+
+		imageActivity = activity;
+		imageVersion = version;
+		imageSpan = span;
+		imageChannels = channels;
+	}
+
+	/**
+	 * Returns the color between the quiet and busy colors for a level between 0 and 1
+	 *
+	 * @param level
+	 * @return
+	 */
+	private static int getHeatColor(double level)
+	{
+		int red = (int) (QUIET_COLOR.getRed() + (BUSY_COLOR.getRed() - QUIET_COLOR.getRed()) * level);
+		int green = (int) (QUIET_COLOR.getGreen() + (BUSY_COLOR.getGreen() - QUIET_COLOR.getGreen()) * level);
+		int blue = (int) (QUIET_COLOR.getBlue() + (BUSY_COLOR.getBlue() - QUIET_COLOR.getBlue()) * level);
+
+		return (red << 16) | (green << 8) | blue;
+	}
+
+	/**
+	 * Convert the millisecond time value to HH:MM:SS that is more human readable
+	 * @param msTime
+	 * @return
+	 */
+	private static String convertToTimeFormat(long msTime)
+	{
+		long seconds = msTime / 1000;
+
+		return String.format("%02d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Activity Map
+
+	/**
+	 * Draws the heat map with a line at the current position, and jumps to the time that is clicked on.
+	 */
+	private class ActivityMap extends JPanel
+	{
+		private static final long serialVersionUID = 1L;
+
+		public ActivityMap()
+		{
+			super(null);
+
+			// Register with the tool tip manager, so the channel and time under the mouse can be shown
+			this.setToolTipText("");
+
+			this.addMouseListener(new MouseAdapter()
+			{
+				public void mousePressed(MouseEvent e)
+				{
+					if (dmp == null || !dmp.dataLoaded() || getWidth() <= 0)
+						return;
+
+					// Jump to the time at the column that was clicked on
+					int x = Math.max(0, Math.min(e.getX(), getWidth() - 1));
+
+					dmp.setSliderPosition((int) ((long) x * dmp.getSliderMax() / getWidth()));
+				}
+			});
+		}
+
+		/**
+		 * Paints the heat map, drawing it again first if anything it shows has changed
+		 */
+		@Override
+		protected void paintComponent(Graphics g)
+		{
+			super.paintComponent(g);
+
+			ActivityHistogram activity = getActivity();
+
+			if (activity == null || this.getWidth() <= 0 || this.getHeight() <= 0)
+			{
+				markerColumn = -1;
+				return;
+			}
+
+			long span = dmp.getSliderMax();
+
+			if (image == null || image.getWidth() != this.getWidth() || image.getHeight() != this.getHeight() || activity != imageActivity
+					|| activity.getVersion() != imageVersion || span != imageSpan || channelNumbers != imageChannels)
+				createHeatMap(activity, span, this.getWidth(), this.getHeight());
+
+			g.drawImage(image, 0, 0, null);
+
+			// Draw the current position
+			markerColumn = getMarkerColumn();
+
+			g.setColor(Color.BLUE);
+			g.drawLine(markerColumn, 0, markerColumn, this.getHeight());
+		}
+
+		/**
+		 * Returns the name of the channel and the time under the mouse
+		 */
+		@Override
+		public String getToolTipText(MouseEvent e)
+		{
+			String[] names = channelNames;
+
+			if (dmp == null || names.length == 0 || this.getWidth() <= 0 || this.getHeight() <= 0)
+				return null;
+
+			int row = Math.min(e.getY() * names.length / this.getHeight(), names.length - 1);
+			long time = (long) Math.max(e.getX(), 0) * dmp.getSliderMax() / this.getWidth();
+
+			return names[row] + " at " + convertToTimeFormat(time);
+		}
+	}
+}
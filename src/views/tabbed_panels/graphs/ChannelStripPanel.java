@@ -0,0 +1,677 @@
+/**
+ * ****************************************************************
+ * File: 			ChannelStripPanel.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To graph every channel of a device at once, one
+ * 					row per channel in a scrolling list. All of the
+ * 					rows share the same time axis, and only the rows
+ * 					that are scrolled into view are calculated and
+ * 					drawn, so a device with a hundred channels costs
+ * 					no more to follow than the rows that fit on the
+ * 					screen.
+ *
+ * ****************************************************************
+ */
+package views.tabbed_panels.graphs;
+
+import java.awt.BasicStroke;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.GeneralPath;
+import java.util.Arrays;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Vector;
+
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import models.DataModelChange;
+import models.DataModelProxy;
+import objects.DeviceInputMap;
+import objects.graphs.GraphLineBuilder;
+import objects.graphs.LineBuffer;
+import threads.RenderableGraph;
+import threads.ThreadGraphRender;
+
+@SuppressWarnings("unchecked")
+public class ChannelStripPanel extends JPanel implements ActionListener, Observer, RenderableGraph
+{
+	private static final long serialVersionUID = 1L;
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Channel Strip Panel Variable Declarations
+
+	/**
+	 * The height of each channel's row in pixels
+	 */
+	private static final int ROW_HEIGHT = 22;
+
+	/**
+	 * The number of pixels between the state lines and the top and bottom of their row
+	 */
+	private static final int ROW_MARGIN = 4;
+
+	/**
+	 * The width of the channel names on the left side of the rows
+	 */
+	private static final int LABEL_WIDTH = 150;
+
+	/**
+	 * Used to request state data from the DataModelProxy so that the rows can be rendered
+	 */
+	private DataModelProxy dmp;
+
+	/**
+	 * Used in selecting the device whose channels are graphed
+	 */
+	private JComboBox combo_Devices;
+
+	/**
+	 * Used for showing how many channels the device has
+	 */
+	private JLabel label_Count;
+
+	/**
+	 * Used for scrolling through the rows
+	 */
+	private JScrollPane scrollPane;
+
+	/**
+	 * Used for drawing the rows that are scrolled into view
+	 */
+	private ChannelStrips strips;
+
+	/**
+	 * Used for storing the name and channel number of each row, in the order they are shown.
+	 * These are replaced instead of changed, so the render thread can keep using the ones it was given.
+	 */
+	private String[] channelNames = new String[0];
+	private int[] channelNumbers = new int[0];
+
+	/**
+	 * Used for calculating the rows off of the event dispatch thread
+	 */
+	private ThreadGraphRender renderer;
+
+	/**
+	 * Used for storing the lines while the render thread calculates them, one buffer for each row in view.
+	 * These are swapped with the buffers being drawn once they are done, and are reused for every update.
+	 */
+	private LineBuffer[] backRows = new LineBuffer[0];
+	private LineBuffer backTicks = new LineBuffer();
+
+	/**
+	 * Used for storing the lines being drawn, the row the first buffer belongs to, and how many rows have buffers.
+	 *
+	 * NOTE: These are only used on the event dispatch thread.
+	 */
+	private LineBuffer[] rows = new LineBuffer[0];
+	private int rowsFirst = 0;
+	private int rowsCount = 0;
+	private LineBuffer ticks = new LineBuffer();
+
+	/**
+	 * Used for keeping track of if the back buffers are waiting to be handed over, and if the rows were
+	 * updated while they were waiting.
+	 */
+	private boolean swapPending = false;
+	private boolean renderAgain = false;
+
+	/**
+	 * Used for remembering what the back buffers were last calculated with, so nothing is calculated when only
+	 * something that doesn't affect the rows has changed.
+	 *
+	 * NOTE: These are only used by the render thread.
+	 */
+	private int tickWidth = -1;
+	private double tickSeconds = -1;
+	private long stateLeft;
+	private double stateScale = -1;
+	private String stateDevice;
+	private int[] stateChannels;
+	private int stateFirst = -1;
+	private int stateLast = -1;
+
+	/**
+	 * Used for storing the bit numbers of the rows in view, which are requested from the data model together.
+	 *
+	 * NOTE: This is only used by the render thread.
+	 */
+	private int[] visibleChannels = new int[0];
+
+	/**
+	 * Used for storing the settings that the render thread calculates the rows with
+	 */
+	private DataModelProxy renderDmp;
+	private String renderDevice;
+	private int[] renderChannels;
+	private int renderFirst;
+	private int renderLast;
+	private int renderWidth;
+
+	/**
+	 * Used for telling the render thread to calculate the rows again even if nothing they are drawn with has changed,
+	 * such as when new data has been read
+	 */
+	private boolean renderRedraw = false;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Channel Strip Panel Construction
+
+	/**
+	 * Creates the channel strip panel with the device selection along the top and the rows below it.
+	 *
+	 * @param renderer - the thread that calculates the graph lines
+	 */
+	public ChannelStripPanel(ThreadGraphRender renderer)
+	{
+		this.renderer = renderer;
+
+		this.setLayout(new BorderLayout(0, 0));
+
+		// Create the control panel for selecting the device
+		JPanel panel_Control = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		this.add(panel_Control, BorderLayout.NORTH);
+
+		panel_Control.add(new JLabel("Device:"));
+
+		combo_Devices = new JComboBox();
+		combo_Devices.setEnabled(false);
+		combo_Devices.setModel(new DefaultComboBoxModel(new String[] {"Devices"}));
+		combo_Devices.setPreferredSize(new Dimension(113, 27));
+		combo_Devices.addActionListener(this);
+		panel_Control.add(combo_Devices);
+
+		label_Count = new JLabel("", SwingConstants.LEFT);
+		panel_Control.add(label_Count);
+
+		// Create the rows inside of a scroll pane
+		strips = new ChannelStrips();
+		strips.setBackground(Color.LIGHT_GRAY);
+
+		scrollPane = new JScrollPane(strips, JScrollPane.VERTICAL_SCROLLBAR_ALWAYS, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+		this.add(scrollPane, BorderLayout.CENTER);
+
+		// Calculate the rows that come into view when the list is scrolled or resized
+		scrollPane.getViewport().addChangeListener(new ChangeListener()
+		{
+			public void stateChanged(ChangeEvent e)
+			{
+				updateStrips();
+			}
+		});
+
+		// Nothing is calculated while the panel is hidden behind another tab, so catch up when it is shown
+		this.addComponentListener(new ComponentAdapter()
+		{
+			public void componentShown(ComponentEvent e)
+			{
+				updateStrips();
+			}
+		});
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Java Event Listeners
+	// -- NOTE: Also includes the Observer 'update' method
+
+	/**
+	 * Invoked when a device is selected
+	 */
+	@Override
+	public void actionPerformed(ActionEvent ae)
+	{
+		if (ae.getSource() == combo_Devices)
+		{
+			// Show all of the channels for the device, or nothing if no device is selected
+			if (combo_Devices.getSelectedIndex() <= 0 || dmp == null)
+				setChannels(null);
+			else
+				setChannels(dmp.getInputMapForDevice((String) combo_Devices.getSelectedItem()));
+
+			updateStrips();
+		}
+	}
+
+	/**
+	 * Invoked when the Data Model sends out a notification that an event changed that requires the
+	 * observers to pay attention to the data coming in
+	 */
+	@Override
+	public void update(Observable arg0, Object arg1)
+	{
+		// If the notification is the device list, let the user pick from it
+		if (arg1 instanceof String[])
+		{
+			combo_Devices.setModel(new DefaultComboBoxModel((String[]) arg1));
+			setChannels(null);
+		}
+
+		// If the notification argument is a string, then either update the channels or clear the rows
+		if (arg1 instanceof String && combo_Devices.getSelectedIndex() > 0)
+		{
+			if (((String) arg1).equals("Input"))
+				setChannels(this.dmp.getInputMapForDevice((String) combo_Devices.getSelectedItem()));
+
+			if (((String) arg1).equals("Reset"))
+				combo_Devices.setSelectedIndex(0);
+		}
+
+		// If the notification argument is the DataModelProxy, keep it and update the rows
+		if (arg1 instanceof DataModelProxy)
+		{
+			dmp = (DataModelProxy) arg1;
+
+			if (dmp.dataLoaded())
+				combo_Devices.setEnabled(true);
+
+			// New data can change the rows anywhere, so they are all calculated again.
+			// Otherwise only the position, the graph width, and the offset change what the rows show.
+			if (dmp.hasChanged(DataModelChange.DATA_LOADED))
+				redrawStrips();
+			else if (dmp.hasChanged(DataModelChange.POSITION, DataModelChange.GRAPH_WIDTH, DataModelChange.OFFSET))
+				updateStrips();
+		}
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Channel Strip Update Events
+
+	/**
+	 * Updates the rows that are in view.
+	 *
+	 * The settings are saved here on the event dispatch thread, and the lines are calculated by the render thread.
+	 * Only the rows that can be seen are included, and nothing is calculated while the panel is hidden.
+	 */
+	private void updateStrips()
+	{
+		if (!this.isShowing())
+			return;
+
+		Rectangle view = scrollPane.getViewport().getViewRect();
+
+		synchronized (this)
+		{
+			renderDmp = this.dmp;
+			renderDevice = (String) combo_Devices.getSelectedItem();
+			renderChannels = channelNumbers;
+			renderFirst = Math.min(Math.max(view.y / ROW_HEIGHT, 0), channelNumbers.length);
+			renderLast = Math.min((view.y + view.height + ROW_HEIGHT - 1) / ROW_HEIGHT, channelNumbers.length);
+			renderWidth = view.width - LABEL_WIDTH;
+		}
+
+		renderer.requestRender(this);
+	}
+
+	/**
+	 * Updates the rows that are in view, calculating all of them again even if nothing they are drawn with has changed.
+	 */
+	private void redrawStrips()
+	{
+		synchronized (this)
+		{
+			renderRedraw = true;
+		}
+
+		updateStrips();
+	}
+
+	/**
+	 * Calculates the tick marks and the lines for each row in view into the back buffers, and then hands them over
+	 * on the event dispatch thread. The scale and the left side of the graph are worked out once and used for every row.
+	 *
+	 * NOTE: This is called by the render thread. If the last lines calculated haven't been handed over yet, the back
+	 * 		 buffers are still in use, so the rows are calculated again after they have been handed over.
+	 */
+	public void renderGraph()
+	{
+		DataModelProxy dmp;
+		String device;
+		int[] channels;
+		int first, last, width;
+		boolean redraw;
+
+		synchronized (this)
+		{
+			if (swapPending)
+			{
+				renderAgain = true;
+				return;
+			}
+
+			redraw = renderRedraw;
+			renderRedraw = false;
+
+			dmp = renderDmp;
+			device = renderDevice;
+			channels = renderChannels;
+			first = renderFirst;
+			last = renderLast;
+			width = renderWidth;
+		}
+
+		// Nothing can be calculated until the data model has been sent and the rows have room to be drawn
+		if (dmp == null || width <= 0)
+			return;
+
+		double seconds = dmp.getGraphWindowSeconds();
+		long position = dmp.getGraphPosition();
+
+		// The tick marks are the same for every row, so they only need to be calculated when the width changes
+		final boolean ticksChanged = (width != tickWidth || seconds != tickSeconds);
+
+		if (ticksChanged)
+		{
+			GraphLineBuilder.createTickLines(backTicks, width, ROW_HEIGHT, seconds);
+
+			tickWidth = width;
+			tickSeconds = seconds;
+		}
+
+		// Find the pixels per millisecond and the column at the left side of the graph, which every row uses.
+		double scale = GraphLineBuilder.getScale(width, seconds);
+		long left = GraphLineBuilder.getColumn(position - (seconds * 1000) / 2, scale);
+
+		// If nothing has changed there is nothing to calculate
+		if (!redraw && !ticksChanged && left == stateLeft && scale == stateScale && device.equals(stateDevice) && channels == stateChannels
+				&& first == stateFirst && last == stateLast)
+			return;
+
+		final int count = last - first;
+
+		// Add buffers when more rows are in view than ever before. The existing ones are kept so they can be reused.
+		if (backRows.length < count)
+		{
+			LineBuffer[] newRows = new LineBuffer[count];
+			System.arraycopy(backRows, 0, newRows, 0, backRows.length);
+
+			for (int i = backRows.length; i < count; i++)
+				newRows[i] = new LineBuffer();
+
+			backRows = newRows;
+		}
+
+		// Only make a new list of the channels in view when the rows in view have changed
+		if (channels != stateChannels || first != stateFirst || last != stateLast)
+			visibleChannels = Arrays.copyOfRange(channels, first, last);
+
+		// Calculate the state lines for every row in view with one request, including the lines just off the edge that reach onto the graph
+		dmp.getDataForChannels(backRows, device, visibleChannels, scale, left - GraphLineBuilder.EDGE_COLUMNS, left + width, left,
+				ROW_MARGIN, ROW_HEIGHT - ROW_MARGIN);
+
+		// Remember what the rows were calculated with
+		stateLeft = left;
+		stateScale = scale;
+		stateDevice = device;
+		stateChannels = channels;
+		stateFirst = first;
+		stateLast = last;
+
+		synchronized (this)
+		{
+			swapPending = true;
+		}
+
+		final int rowFirst = first;
+
+		// Hand the lines over on the event dispatch thread
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				swapBuffers(ticksChanged, rowFirst, count);
+			}
+		});
+	}
+
+	/**
+	 * Swaps the back buffers with the ones being drawn, and repaints the rows.
+	 *
+	 * @param ticksChanged - if the tick marks were calculated again
+	 * @param first - the row of the first buffer
+	 * @param count - the number of rows that were calculated
+	 */
+	private void swapBuffers(boolean ticksChanged, int first, int count)
+	{
+		boolean again;
+
+		synchronized (this)
+		{
+			LineBuffer[] swapRows = rows;
+			rows = backRows;
+			backRows = swapRows;
+
+			if (ticksChanged)
+			{
+				LineBuffer swapTicks = ticks;
+				ticks = backTicks;
+				backTicks = swapTicks;
+			}
+
+			rowsFirst = first;
+			rowsCount = count;
+
+			swapPending = false;
+
+			again = renderAgain;
+			renderAgain = false;
+		}
+
+		strips.repaint();
+
+		// If the rows were updated while the buffers were waiting to be swapped, calculate them again.
+		if (again)
+			renderer.requestRender(this);
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Channel Strip Panel Setters
+
+	/**
+	 * Sets the rows to the channels in the input map, or removes all of the rows if it is null.
+	 *
+	 * @param data - the device's input map
+	 */
+	private void setChannels(Vector<DeviceInputMap> data)
+	{
+		int size = (data == null) ? 0 : data.size();
+
+		String[] names = new String[size];
+		int[] numbers = new int[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			names[i] = data.elementAt(i).getChannelName();
+			numbers[i] = data.elementAt(i).getBitNumber();
+		}
+
+		channelNames = names;
+		channelNumbers = numbers;
+
+		label_Count.setText((size == 0) ? "" : size + " channels");
+
+		// Make the rows tall enough for every channel, so the scroll bar covers all of them
+		strips.setPreferredSize(new Dimension(LABEL_WIDTH, size * ROW_HEIGHT));
+		strips.revalidate();
+		strips.repaint();
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Channel Strips
+
+	/**
+	 * Draws the rows inside of the scroll pane. Only the rows inside of the area being painted are drawn.
+	 */
+	private class ChannelStrips extends JPanel implements Scrollable
+	{
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Used for drawing the state lines of every row with a single draw call
+		 */
+		private GeneralPath path = new GeneralPath();
+
+		/**
+		 * Set the line stroke for the state lines and the center line
+		 */
+		private BasicStroke stateStroke = new BasicStroke(2.0F);
+
+		/**
+		 * Set the line stroke for the tick lines
+		 */
+		private BasicStroke tickStroke = new BasicStroke(1.0F);
+
+		public ChannelStrips()
+		{
+			super(null);
+		}
+
+		/**
+		 * Paints the rows in the area being painted, with the tick marks and center line running through all of them.
+		 */
+		@Override
+		protected void paintComponent(Graphics g)
+		{
+			super.paintComponent(g);
+
+			Rectangle clip = g.getClipBounds();
+
+			if (clip == null)
+				clip = new Rectangle(0, 0, this.getWidth(), this.getHeight());
+
+			String[] names = channelNames;
+
+			int firstRow = Math.max(clip.y / ROW_HEIGHT, 0);
+			int lastRow = Math.min((clip.y + clip.height + ROW_HEIGHT - 1) / ROW_HEIGHT, names.length);
+
+			if (firstRow >= lastRow)
+				return;
+
+			Graphics2D g2d = (Graphics2D) g;
+
+			int top = firstRow * ROW_HEIGHT;
+			int bottom = lastRow * ROW_HEIGHT;
+			int width = this.getWidth() - LABEL_WIDTH;
+
+			// Draw the channel names and the lines between the rows
+			for (int row = firstRow; row < lastRow; row++)
+			{
+				int y = row * ROW_HEIGHT;
+
+				g2d.setColor(Color.BLACK);
+				g2d.drawString(names[row], 4, y + ROW_HEIGHT - 7);
+
+				g2d.setColor(Color.GRAY);
+				g2d.drawLine(0, y + ROW_HEIGHT - 1, this.getWidth(), y + ROW_HEIGHT - 1);
+			}
+
+			// Keep the graph lines off of the channel names
+			Graphics2D graph = (Graphics2D) g2d.create();
+			graph.clipRect(LABEL_WIDTH, top, width, bottom - top);
+			
+			// Keep the state lines as sharp steps
+			graph.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+
+			// Draw the tick marks through all of the rows at once
+			int count = Math.min(ticks.size(), ticks.getCoordinates().length / 4);
+			int[] c = ticks.getCoordinates();
+
+			graph.setColor(Color.GRAY);
+			graph.setStroke(tickStroke);
+
+			for (int i = 0; i < count * 4; i += 4)
+			{
+				graph.drawLine(LABEL_WIDTH + c[i], top, LABEL_WIDTH + c[i], bottom);
+			}
+
+			// Add the state lines of each row that has been calculated to one path, moved down to the row
+			path.reset();
+
+			for (int row = Math.max(firstRow, rowsFirst); row < Math.min(lastRow, rowsFirst + rowsCount); row++)
+			{
+				LineBuffer lines = rows[row - rowsFirst];
+				int y = row * ROW_HEIGHT;
+
+				int lineCount = lines.size();
+				int[] l = lines.getCoordinates();
+
+				lineCount = Math.min(lineCount, l.length / 4);
+
+				for (int i = 0; i < lineCount * 4; i += 4)
+				{
+					path.moveTo(LABEL_WIDTH + l[i], y + l[i + 1]);
+					path.lineTo(LABEL_WIDTH + l[i + 2], y + l[i + 3]);
+				}
+			}
+
+			graph.setStroke(stateStroke);
+			graph.setColor(Color.BLACK);
+			graph.draw(path);
+
+			// Draw the center line
+			graph.setColor(Color.RED);
+			graph.drawLine(LABEL_WIDTH + width / 2, top, LABEL_WIDTH + width / 2, bottom);
+
+			graph.dispose();
+		}
+
+		public Dimension getPreferredScrollableViewportSize()
+		{
+			return this.getPreferredSize();
+		}
+
+		public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction)
+		{
+			// Scroll one row at a time
+			return ROW_HEIGHT;
+		}
+
+		public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction)
+		{
+			// Scroll a page at a time, keeping one row from the last page in view
+			return Math.max(visibleRect.height - ROW_HEIGHT, ROW_HEIGHT);
+		}
+
+		public boolean getScrollableTracksViewportWidth()
+		{
+			return true;
+		}
+
+		public boolean getScrollableTracksViewportHeight()
+		{
+			return false;
+		}
+	}
+}
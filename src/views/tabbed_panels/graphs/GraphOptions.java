@@ -28,6 +28,7 @@ import javax.swing.SwingConstants;
 import javax.swing.border.EtchedBorder;
 
 import models.DataModel;
+import models.DataModelChange;
 import models.DataModelProxy;
 
 import commands.windows.graph.CommandGraphScale;
@@ -390,7 +391,8 @@ public class GraphOptions extends JPanel implements Observer, KeyListener, Actio
 	@Override
 	public void update(Observable o, Object arg) 
 	{
-		if (arg instanceof DataModelProxy)
+		// Only the graph width and the loaded file change the labels
+		if (arg instanceof DataModelProxy && ((DataModelProxy) arg).hasChanged(DataModelChange.GRAPH_WIDTH, DataModelChange.DATA_LOADED))
 		{
 	    	double seconds =  ((DataModelProxy) arg).getGraphWindowSeconds();
 	    	int ticksPer = 4;
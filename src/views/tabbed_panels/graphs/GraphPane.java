@@ -12,15 +12,20 @@
 
 package views.tabbed_panels.graphs;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.Vector;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.GeneralPath;
+import java.awt.image.BufferedImage;
 
 import javax.swing.JPanel;
 
-import objects.graphs.Line;
+import objects.graphs.LineBuffer;
 
 public class GraphPane extends JPanel 
 {	
@@ -35,6 +40,12 @@ public class GraphPane extends JPanel
 	 */
 	private Color lineColor = Color.BLACK;
 	
+	/**
+	 * The colors used for the channels that are overlaid on the graph's own channel, in the order they are added.
+	 * A color that matches the graph's own line color is skipped, so every trace can be told apart.
+	 */
+	private static final Color[] OVERLAY_COLORS = {Color.BLUE, new Color(0, 150, 0), Color.MAGENTA, Color.ORANGE, new Color(0, 160, 160), Color.RED, Color.PINK};
+	
 	/**
 	 * Set the tick line default color to Gray
 	 */
@@ -56,19 +67,32 @@ public class GraphPane extends JPanel
 	private BasicStroke centerThickStroke = new BasicStroke(2.0F);
 	
 	/**
-	 * Used for storing the tick marks that are to be rendered
+	 * Used for storing the tick marks that are to be rendered.
+	 * This is swapped with the buffer the GraphPanel filled every time the graph is updated.
 	 */
-	private Vector<Line> ticks;
+	private LineBuffer ticks = new LineBuffer();
 	
 	/**
-	 * Used for storing the state lines that are to be rendered
+	 * Used for storing the state lines that have been rendered. During playback this is shifted over by the number of columns
+	 * the graph moved, and only the new columns are drawn. This is null when there are no states to draw.
 	 */
-	private Vector<Line> states;
+	private BufferedImage trace;
+	
+	/**
+	 * Used for drawing all of the lines in a buffer with a single draw call. This is reset and reused every time lines are drawn.
+	 */
+	private GeneralPath path = new GeneralPath();
 	
 	/**
 	 * Used for indicating if we need to draw the center line thicker.
 	 */
 	private boolean thickCenter;
+	
+	/**
+	 * Used for storing the background, tick marks and center line, so they only have to be drawn when they change.
+	 * This is set to null when the ticks change, and is recreated when the pane's size doesn't match it.
+	 */
+	private BufferedImage background;
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -92,69 +116,153 @@ public class GraphPane extends JPanel
 	/**
 	 * Paints the components onto the graphics window. This will render the tick marks as well as the state diagrams
 	 * 
-	 * @see Line
+	 * The tick marks, center line and states are all drawn from images, so painting doesn't have to draw any lines.
+	 * The background image covers the whole pane, so the background color doesn't need to be filled in first.
+	 * 
+	 * @see LineBuffer
 	 */
-	public void paint(Graphics g)
+	@Override
+	protected void paintComponent(Graphics g)
 	{
-		super.paintComponent(g);
+		// If the background image hasn't been created, or the pane has been resized, draw it again
+		if (background == null || background.getWidth() != this.getWidth() || background.getHeight() != this.getHeight())
+			createBackground();
 		
 		Graphics2D g2d = (Graphics2D)g;
 		
-		// If the ticks array is not null and empty, we can draw the tick marks on the screen.
-		if (ticks != null && !ticks.isEmpty())
-		{
-			// Loop through all of the tick marks in the array and draw them at the points
-			for (int i = 0; i < ticks.size(); i++)
-			{
-				// Get the Line object from the specified index
-				Line l = ticks.elementAt(i);
-				
-//				// If the index is at the middle position, we draw our center line
-//				if (i == ticks.size() / 2)
-//				{
-//					// The center line is currently set to red
-//					// Set the stroke to make the center line distinguishable
-//					// TODO: Make this color changeable from a prefs file
-//					g2d.setColor(Color.RED);
-//					g2d.setStroke(centerStroke);
-//				}
-//				else
-//				{
-					// The center line is currently set to gray
-					// Set the stroke to change it from the center line
-					// TODO: Make this color changeable from a prefs file
-					
-					g2d.setColor(tickColor);
-					g2d.setStroke(normalStroke);
-//				}
-				
-				// Draw the line object onto the graphics window
-				g2d.drawLine(l.getX0(), l.getY0(), l.getX1(), l.getY1());
-			}
-		}
+		// Draw the background, tick marks and center line
+		g2d.drawImage(background, 0, 0, null);
+		
+		// Draw the state lines on top of the background
+		if (trace != null)
+			g2d.drawImage(trace, 0, 0, null);
+	}
+	
+	/**
+	 * Creates the background image and draws the background color, tick marks and center line onto it.
+	 */
+	private void createBackground()
+	{
+		int width = Math.max(this.getWidth(), 1);
+		int height = Math.max(this.getHeight(), 1);
+		
+		background = createImage(width, height, Transparency.OPAQUE);
+		
+		Graphics2D g2d = background.createGraphics();
+		setRenderingHints(g2d);
+		
+		// Fill in the background
+		g2d.setColor(this.getBackground());
+		g2d.fillRect(0, 0, width, height);
+		
+		// Draw the tick marks on the screen.
+		// The tick lines are currently set to gray
+		// TODO: Make this color changeable from a prefs file
+		g2d.setColor(tickColor);
+		g2d.setStroke(normalStroke);
+		drawLines(g2d, ticks);
 
 		// Draw Center Line
 		g2d.setColor(Color.RED);
 		g2d.setStroke((this.thickCenter) ? centerThickStroke : centerStroke);
 		g2d.drawLine((this.getWidth() / 2), 0, (this.getWidth() / 2), this.getHeight());
 		
-		// If the states array is not null, 
-		if (states != null && !states.isEmpty())
+		g2d.dispose();
+	}
+	
+	/**
+	 * Creates an image that matches the screen if we can, so it can be drawn as quickly as possible
+	 * 
+	 * @param width
+	 * @param height
+	 * @param transparency
+	 * @return
+	 */
+	private BufferedImage createImage(int width, int height, int transparency)
+	{
+		GraphicsConfiguration gc = this.getGraphicsConfiguration();
+		
+		if (gc != null)
+			return gc.createCompatibleImage(width, height, transparency);
+		else
+			return new BufferedImage(width, height, (transparency == Transparency.OPAQUE) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+	}
+	
+	/**
+	 * Draws the state lines onto the trace image, only changing the pixels in the columns between x0 and x1.
+	 * Each buffer is drawn in its own color, with the first buffer drawn last so the graph's own channel is on top.
+	 * 
+	 * @param states
+	 * @param count - the number of buffers in states to draw
+	 * @param x0
+	 * @param x1
+	 */
+	private void drawStates(LineBuffer[] states, int count, int x0, int x1)
+	{
+		Graphics2D g2d = trace.createGraphics();
+		setRenderingHints(g2d);
+		
+		// Clear out the columns, leaving them transparent so the background shows through
+		g2d.setComposite(AlphaComposite.Clear);
+		g2d.fillRect(x0, 0, x1 - x0, trace.getHeight());
+		g2d.setComposite(AlphaComposite.SrcOver);
+		
+		// Set the line color to be drawn. This is changeable for each graph pane
+		// Set the stroke color to the same as center stroke. This makes it distinguishable
+		// Draw the state lines onto the trace, keeping any that reach outside of the columns from changing the rest of it.
+		g2d.clipRect(x0, 0, x1 - x0, trace.getHeight());
+		g2d.setStroke(centerStroke);
+		
+		for (int i = count - 1; i >= 0; i--)
+		{
+			g2d.setColor(getTraceColor(i));
+			drawLines(g2d, states[i]);
+		}
+		
+		g2d.dispose();
+	}
+	
+	/**
+	 * Turns off antialiasing so the graph lines are drawn as sharp steps, and asks for speed over quality.
+	 * Antialiasing is normally off already, but some platforms turn it on by default.
+	 * 
+	 * @param g2d
+	 */
+	private static void setRenderingHints(Graphics2D g2d)
+	{
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+	}
+	
+	/**
+	 * Draws all of the lines in the buffer as one path, using the graphics' current color and stroke.
+	 * 
+	 * @param g2d
+	 * @param lines
+	 */
+	private void drawLines(Graphics2D g2d, LineBuffer lines)
+	{
+		// Get the size before the array, since the buffer may be refilled while we are painting.
+		// If the array has been replaced by a larger one, only the lines that fit in the one we got are drawn.
+		int count = lines.size();
+		int[] c = lines.getCoordinates();
+		
+		count = Math.min(count, c.length / 4);
+		
+		// If the buffer is empty there is nothing to draw
+		if (count == 0)
+			return;
+		
+		path.reset();
+		
+		// Add each line to the path as its own segment
+		for (int i = 0; i < count * 4; i += 4)
 		{
-			// Loop through all of the state objects to be drawn on the screen.
-			for (int i = states.size() - 1; i >= 0; i--)
-			{
-				// Get the Line object from the specified index
-				Line l = states.elementAt(i);
-								
-				// Set the line color to be drawn. This is changeable for each graph pane
-				// Set the stroke color to the same as center stroke. This makes it distinguishable
-				// Draw the line object onto the graphics window
-				g2d.setColor(lineColor);
-				g2d.setStroke(centerStroke);
-				g2d.drawLine(l.getX0(), l.getY0(), l.getX1(), l.getY1());
-			}
+			path.moveTo(c[i], c[i + 1]);
+			path.lineTo(c[i + 2], c[i + 3]);
 		}
+		
+		g2d.draw(path);
 	}
 
 	
@@ -163,30 +271,105 @@ public class GraphPane extends JPanel
 	// -- Graph Pane Setters 
 	
 	/**
-	 * Set the states to be drawn by the panels paint method.
-	 * Calls repaint when states has been assigned.
-	 * @param states
+	 * Returns the buffer that holds the tick marks being drawn by the panels paint method.
+	 * @return
+	 */
+	public LineBuffer getTicks()
+	{
+		return this.ticks;
+	}
+	
+	/**
+	 * Set the states to be drawn by the panels paint method. All of the states are drawn again.
+	 * Calls repaint when states has been drawn.
+	 * @param states - the graph's own channel first, followed by any overlaid channels
+	 * @param count - the number of buffers in states to draw
 	 */
-	public void setStates(Vector<Line> states)
+	public void setStates(LineBuffer[] states, int count)
 	{
-		this.states = states;
+		int width = Math.max(this.getWidth(), 1);
+		int height = Math.max(this.getHeight(), 1);
+		
+		// Create the trace image if the pane has been resized, otherwise it is cleared as the states are drawn
+		if (trace == null || trace.getWidth() != width || trace.getHeight() != height)
+			trace = createImage(width, height, Transparency.TRANSLUCENT);
+		
+		drawStates(states, count, 0, width);
+		
 		this.repaint();
 	}
 	
 	/**
-	 * Set the tick marks to be drawn by the panels paint method.
+	 * Shifts the states that have already been drawn to the left by shift columns (to the right if shift is negative), 
+	 * then draws the states between columns x0 and x1. The states passed only have to include the lines for those columns.
+	 * Calls repaint when states has been drawn.
+	 * 
+	 * Returns false without drawing anything if there are no states to shift, or the pane has been resized since they were
+	 * drawn. In this case setStates must be used to draw all of them again.
+	 * 
+	 * @param states - the graph's own channel first, followed by any overlaid channels
+	 * @param count - the number of buffers in states to draw
+	 * @param shift
+	 * @param x0
+	 * @param x1
+	 * @return
+	 */
+	public boolean scrollStates(LineBuffer[] states, int count, int shift, int x0, int x1)
+	{
+		if (trace == null || trace.getWidth() != this.getWidth() || trace.getHeight() != this.getHeight())
+			return false;
+		
+		int width = trace.getWidth();
+		int height = trace.getHeight();
+		
+		// Move the states that are still on the graph over to where they are now.
+		// The pixels are replaced instead of blended, so the transparent parts of the image are moved too.
+		Graphics2D g2d = trace.createGraphics();
+		g2d.setComposite(AlphaComposite.Src);
+		
+		if (shift > 0)
+			g2d.copyArea(shift, 0, width - shift, height, -shift, 0);
+		else if (shift < 0)
+			g2d.copyArea(0, 0, width + shift, height, -shift, 0);
+		
+		g2d.dispose();
+		
+		// Draw the columns that have just come onto the graph
+		drawStates(states, count, Math.max(x0, 0), Math.min(x1, width));
+		
+		this.repaint();
+		
+		return true;
+	}
+	
+	/**
+	 * Set the tick marks to be drawn by the panels paint method. The background image is drawn again with the new tick marks.
+	 * The buffer must not be changed until it has been replaced by the next call.
 	 * Calls repaint when ticks has been assigned.
 	 * @param ticks
+	 * @param thickCenter
 	 */
-	public void setTicks(Vector<Line> ticks, boolean thickCenter)
+	public void setTicks(LineBuffer ticks, boolean thickCenter)
 	{
-		this.thickCenter = thickCenter;
 		this.ticks = ticks;
+		this.thickCenter = thickCenter;
+		this.background = null;
 		this.repaint();
 	}
 	
 	/**
-	 * Sets the line color to be used when rendering the states
+	 * Removes all of the states so that only the tick marks are drawn.
+	 * Calls repaint when states has been cleared.
+	 */
+	public void clearStates()
+	{
+		this.trace = null;
+		this.repaint();
+	}
+	
+	/**
+	 * Sets the line color to be used when rendering the states.
+	 * States that have already been drawn keep their color until setStates is called.
 	 * @param lineColor
 	 */
 	public void setLineColor(Color lineColor)
@@ -194,4 +377,30 @@ public class GraphPane extends JPanel
 		this.lineColor = lineColor;
 		this.repaint();
 	}
+	
+	/**
+	 * Returns the color that the states in a buffer are drawn with. The first buffer is the graph's own channel,
+	 * and the rest are the overlaid channels.
+	 * @param index
+	 * @return
+	 */
+	public Color getTraceColor(int index)
+	{
+		if (index == 0)
+			return lineColor;
+		
+		// Leave out the overlay color that matches the line color, if there is one
+		int skip = OVERLAY_COLORS.length;
+		
+		for (int i = 0; i < OVERLAY_COLORS.length; i++)
+		{
+			if (OVERLAY_COLORS[i].equals(lineColor))
+				skip = i;
+		}
+		
+		int colors = (skip == OVERLAY_COLORS.length) ? OVERLAY_COLORS.length : OVERLAY_COLORS.length - 1;
+		int color = (index - 1) % colors;
+		
+		return OVERLAY_COLORS[(color >= skip) ? color + 1 : color];
+	}
 }
@@ -0,0 +1,259 @@
+/**
+ * ****************************************************************
+ * File: 			GraphPaneBenchmark.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To measure how many frames per second a graph
+ * 					pane can be updated and painted, by following a
+ * 					made up channel the way a graph does during
+ * 					playback and painting it into an image in memory.
+ * 					This doesn't need a screen, so it can be run
+ * 					headless:
+ *
+ * 					java -Djava.awt.headless=true
+ * 						views.tabbed_panels.graphs.GraphPaneBenchmark
+ * 						[frames] [seconds shown] [ms between transitions]
+ *
+ * ****************************************************************
+ */
+package views.tabbed_panels.graphs;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import objects.TransitionStore;
+import objects.c1.C1Channel;
+import objects.graphs.GraphLineBuilder;
+import objects.graphs.LineBuffer;
+
+public class GraphPaneBenchmark
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Graph Pane Benchmark Variable Declarations
+
+	/**
+	 * The size of the graph pane, which is the same as the graph panes in the data window
+	 */
+	private static final int WIDTH = 500;
+	private static final int HEIGHT = 57;
+
+	/**
+	 * The number of milliseconds the graph moves each frame, which is about 30 frames per second of playback
+	 */
+	private static final int FRAME_MILLIS = 33;
+
+	/**
+	 * The length of the made up channel in milliseconds
+	 */
+	private static final long DURATION = 60L * 60 * 1000;
+
+	/**
+	 * The number of columns next to the new columns that are drawn again when the states are shifted, the same as the GraphPanel
+	 */
+	private static final int SCROLL_OVERLAP = 2;
+
+	private GraphPane pane;
+	private C1Channel channel;
+	private BufferedImage screen;
+	private Graphics2D screenGraphics;
+	private LineBuffer[] states = {new LineBuffer()};
+
+	private double scale;
+	private double seconds;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Graph Pane Benchmark Construction
+
+	/**
+	 * Creates the graph pane and a channel with random transitions spread across the whole duration
+	 *
+	 * @param seconds - graph width in seconds
+	 * @param gap - the average number of milliseconds between transitions
+	 */
+	public GraphPaneBenchmark(double seconds, int gap)
+	{
+		this.seconds = seconds;
+		this.scale = GraphLineBuilder.getScale(WIDTH, seconds);
+
+		// Use the same seed every time, so every run draws the same graphs
+		Random random = new Random(190);
+		TransitionStore transitions = new TransitionStore();
+
+		int state = 0;
+
+		for (long time = 0; time < DURATION; time += 1 + random.nextInt(gap * 2))
+		{
+			transitions.add(time, state);
+			state = 1 - state;
+		}
+
+		channel = new C1Channel(0, transitions);
+
+		pane = new GraphPane();
+		pane.setSize(WIDTH, HEIGHT);
+
+		LineBuffer ticks = new LineBuffer();
+		GraphLineBuilder.createTickLines(ticks, WIDTH, HEIGHT, seconds);
+		pane.setTicks(ticks, false);
+
+		screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		screenGraphics = screen.createGraphics();
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Graph Pane Benchmark Methods
+
+	/**
+	 * Runs each of the benchmarks, once to warm up and then again to be measured
+	 *
+	 * @param args - the number of frames, the graph width in seconds, and the average milliseconds between transitions
+	 */
+	public static void main(String[] args)
+	{
+		int frames = (args.length > 0) ? Integer.parseInt(args[0]) : 3000;
+		double seconds = (args.length > 1) ? Double.parseDouble(args[1]) : 4;
+		int gap = (args.length > 2) ? Integer.parseInt(args[2]) : 50;
+
+		GraphPaneBenchmark benchmark = new GraphPaneBenchmark(seconds, gap);
+
+		System.out.println("Graph " + WIDTH + "x" + HEIGHT + ", " + seconds + " seconds wide, " + benchmark.channel.size() + " transitions, " + frames + " frames");
+
+		for (int pass = 0; pass < 2; pass++)
+		{
+			boolean print = (pass == 1);
+
+			benchmark.report("Paint only", benchmark.runPaint(frames), frames, print);
+			benchmark.report("Draw all states", benchmark.runPlayback(frames, false), frames, print);
+			benchmark.report("Shift states", benchmark.runPlayback(frames, true), frames, print);
+		}
+	}
+
+	/**
+	 * Prints the frames per second for a benchmark
+	 *
+	 * @param name
+	 * @param nanos - the time the benchmark took
+	 * @param frames
+	 * @param print - false while warming up
+	 */
+	private void report(String name, long nanos, int frames, boolean print)
+	{
+		if (print)
+			System.out.printf("%-16s %10.1f frames/sec %8.3f ms/frame\n", name, frames * 1e9 / nanos, nanos / 1e6 / frames);
+	}
+
+	/**
+	 * Paints the graph pane without changing it, which is only drawing the images it has already drawn.
+	 *
+	 * @param frames
+	 * @return the number of nanoseconds it took
+	 */
+	private long runPaint(int frames)
+	{
+		drawAll(DURATION / 2);
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < frames; i++)
+			pane.paintComponent(screenGraphics);
+
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Moves the graph forward a frame at a time and paints it, the way a graph is updated during playback.
+	 *
+	 * @param frames
+	 * @param shift - if the states already drawn should be shifted over instead of drawing all of them
+	 * @return the number of nanoseconds it took
+	 */
+	private long runPlayback(int frames, boolean shift)
+	{
+		long position = (long) (seconds * 1000);
+		long lastLeft = drawAll(position);
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < frames; i++)
+		{
+			// Start again from the beginning if the end of the channel is reached
+			position += FRAME_MILLIS;
+
+			if (position >= DURATION)
+				position = (long) (seconds * 1000);
+
+			long left = getLeft(position);
+			long columns = left - lastLeft;
+
+			if (!shift || columns < 0 || columns >= WIDTH / 2)
+			{
+				lastLeft = drawAll(position);
+			}
+			else
+			{
+				// Only calculate the columns that came onto the right side, the same way the GraphPanel does
+				int x0 = (int) (WIDTH - columns - SCROLL_OVERLAP);
+				getStates(left + x0 - SCROLL_OVERLAP, left + WIDTH, left);
+				pane.scrollStates(states, 1, (int) columns, x0, WIDTH);
+
+				lastLeft = left;
+			}
+
+			pane.paintComponent(screenGraphics);
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Calculates and draws all of the states for the graph at the position, and returns the column at its left side.
+	 *
+	 * @param position - the time at the center of the graph
+	 * @return
+	 */
+	private long drawAll(long position)
+	{
+		long left = getLeft(position);
+
+		getStates(left - GraphLineBuilder.EDGE_COLUMNS, left + WIDTH, left);
+		pane.setStates(states, 1);
+
+		return left;
+	}
+
+	/**
+	 * Returns the column at the left side of the graph when the position is at the center
+	 *
+	 * @param position
+	 * @return
+	 */
+	private long getLeft(long position)
+	{
+		return GraphLineBuilder.getColumn(position - (seconds * 1000) / 2, scale);
+	}
+
+	/**
+	 * Fills the states buffer with the lines between two columns, the same way the analyzers do.
+	 *
+	 * @param first
+	 * @param last
+	 * @param origin
+	 */
+	private void getStates(long first, long last, long origin)
+	{
+		long min = GraphLineBuilder.getFirstTime(first, scale);
+		long max = GraphLineBuilder.getFirstTime(last + 1, scale) - 1;
+
+		int end = channel.getEndIndex(max);
+		int begin = Math.min(channel.getStartIndex(min), end);
+
+		GraphLineBuilder.createGraphLines(states[0], scale, first, last, origin, channel.getTransitions(), begin, end, 47, 10);
+	}
+}
@@ -20,27 +20,38 @@ import java.awt.Color;
 import javax.swing.border.BevelBorder;
 import java.awt.BorderLayout;
 import javax.swing.JComboBox;
+import javax.swing.SwingUtilities;
 import javax.swing.JCheckBox;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
 import javax.swing.DefaultComboBoxModel;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.Vector;
 
 import javax.swing.border.LineBorder;
 
+import models.DataModelChange;
 import models.DataModelProxy;
 
 import objects.DeviceInputMap;
-import objects.graphs.Line;
+import objects.graphs.GraphLineBuilder;
+import objects.graphs.LineBuffer;
+import threads.RenderableGraph;
+import threads.ThreadGraphRender;
 
 import java.awt.Dimension;
 
 @SuppressWarnings("unchecked")
-public class GraphPanel extends JPanel implements ActionListener, ItemListener, Observer
+public class GraphPanel extends JPanel implements ActionListener, ItemListener, Observer, RenderableGraph
 {
     private static final long serialVersionUID = 1L;
 
@@ -90,6 +101,18 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 	 */
 	private int currChannel;
 	
+	/**
+	 * Used in keeping track of the channels that are drawn on top of the current channel, and their names
+	 */
+	private int[] overlayChannels = new int[0];
+	private String[] overlayNames = new String[0];
+	
+	/**
+	 * Used for storing the current channel followed by the overlaid channels, which are all requested from the data model together.
+	 * This is replaced instead of changed, so the render thread can keep using the one it was given.
+	 */
+	private int[] graphChannels = new int[1];
+	
 	/**
 	 * Used in keeping track of how many pixels there are between state & tick lines
 	 */
@@ -115,15 +138,98 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 	 */
 	private String[] defaultChannelModel = new String[] {"Choose a Channel"};
 	
+	/**
+	 * Used for calculating the graph lines off of the event dispatch thread
+	 */
+	private ThreadGraphRender renderer;
+	
+	/**
+	 * Used for storing the lines while the render thread calculates them. The tick marks are swapped with the
+	 * graph pane's buffer once they are done, so the tick marks being drawn are never changed.
+	 */
+	private LineBuffer backTicks = new LineBuffer();
+	
+	/**
+	 * Used for storing the state lines while the render thread calculates them, one buffer for each channel that is graphed.
+	 */
+	private LineBuffer[] backStates = {new LineBuffer()};
+	
+	/**
+	 * Used for keeping track of if the back buffers are waiting to be handed to the graph pane, and if the graph was
+	 * updated while they were waiting.
+	 */
+	private boolean swapPending = false;
+	private boolean renderAgain = false;
+	
+	/**
+	 * Used for telling the render thread that the graph pane needs all of its states drawn again, instead of only the
+	 * columns that have come onto the graph.
+	 */
+	private boolean redrawStates = true;
+	
+	/**
+	 * Used for remembering the size and graph width that the back tick marks were calculated for, so they
+	 * are only calculated again when one of them changes.
+	 * 
+	 * NOTE: These are only used by the render thread.
+	 */
+	private int tickWidth = -1;
+	private int tickHeight = -1;
+	private double tickSeconds = -1;
+	
+	/**
+	 * Used for remembering what the graph pane's states were last drawn with. If only the position has changed since then,
+	 * the states are shifted over and only the columns that have come onto the graph are drawn.
+	 * 
+	 * NOTE: These are only used by the render thread.
+	 */
+	private long stateLeft;
+	private double stateScale = -1;
+	private int stateWidth = -1;
+	private int stateHeight = -1;
+	private String stateDevice;
+	private int[] stateChannels;
+	private boolean stateEnabled;
+	
+	/**
+	 * The number of columns next to the new columns that are drawn again when the states are shifted.
+	 * The state lines are two pixels wide, so a line can reach into the column next to it.
+	 */
+	private static final int SCROLL_OVERLAP = 2;
+	
+	/**
+	 * Used for storing the settings that the render thread calculates the graph with
+	 */
+	private DataModelProxy renderDmp;
+	private int renderWidth;
+	private int renderHeight;
+	private String renderDevice;
+	private int[] renderChannels;
+	private boolean renderEnabled;
+	
+	/**
+	 * Used for remembering the graph position and width in seconds that the render thread was last asked to calculate
+	 * the graph with, so nothing is requested when a notification hasn't changed either of them.
+	 * 
+	 * NOTE: These are only used on the event dispatch thread. New data doesn't always change the position or the
+	 * 		 length of the data, so it forces the graph to be drawn again instead of being compared here.
+	 */
+	private long requestPosition;
+	private double requestSeconds = -1;
+	
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	//-------------------------------------------------------------------------------------------------------------------------------------
 	// -- Graph Panel Construction 
 
 	/**
 	 * Creates a graph panel object for rendering the state data for the channel that is selected.
+	 * 
+	 * @param renderer - the thread that calculates the graph lines
 	 */
-		public GraphPanel()
+	public GraphPanel(ThreadGraphRender renderer)
 	{
+		this.renderer = renderer;
+		
 		// Set the size, border, background and layout of the entire graph panel
 		this.setPreferredSize(new Dimension(722, 59));	
 		this.setBorder(new LineBorder(new Color(30, 144, 255)));
@@ -174,6 +280,23 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 		panel_Graph.setPreferredSize(new Dimension(500, 57));
 		panel_Graph.setLayout(new BorderLayout(0, 0));
 		this.add(panel_Graph, BorderLayout.CENTER);
+		
+		// Show the overlay menu when the graph is right clicked. Depending on the platform, the menu is 
+		// triggered when the mouse is either pressed or released.
+		panel_Graph.addMouseListener(new MouseAdapter()
+		{
+			public void mousePressed(MouseEvent e)
+			{
+				if (e.isPopupTrigger())
+					showOverlayMenu(e);
+			}
+			
+			public void mouseReleased(MouseEvent e)
+			{
+				if (e.isPopupTrigger())
+					showOverlayMenu(e);
+			}
+		});
 	}
 	
 
@@ -233,8 +356,9 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 					break;
 			}
 			
-			// Update the graph with the new line color to be used.
+			// Update the graph with the new line color to be used, and draw the states again in the new color.
 			panel_Graph.setLineColor(myColor);
+			redrawGraph();
 		}
 		
 		// If the source of the ActionEvent is the devices combo box, retrieve the list of 
@@ -247,6 +371,9 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 			// Get the string of the selected item from the combo box.
 			String item = (String) combo.getSelectedItem();
 			
+			// The overlaid channels belong to the last device, so remove them
+			setOverlayChannels(new int[0], new String[0]);
+			
 			// Set the combo box text from the information returned from the DataModelProxy
 			setComboBoxText((combo.getSelectedIndex() == 0) ? null : this.dmp.getInputMapForDevice(item));
 		}
@@ -275,7 +402,7 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 			else
 			{
 				// Set the panel graph states to null so we don't continue rendering them if we reach this point.
-				panel_Graph.setStates(null);
+				panel_Graph.clearStates();
 			}
 		}
 	}
@@ -356,7 +483,12 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 			if (dmp.dataLoaded())
 				checkbox_Enabled.setEnabled(true);
 		
-			updateGraph();
+			// New data can change the states anywhere on the graph, so it is all drawn again.
+			// Otherwise only the position, the graph width, and the offset change what the graph shows.
+			if (dmp.hasChanged(DataModelChange.DATA_LOADED))
+				redrawGraph();
+			else if (dmp.hasChanged(DataModelChange.POSITION, DataModelChange.GRAPH_WIDTH, DataModelChange.OFFSET))
+				updateGraph();
 		}
 	}
 
@@ -365,6 +497,8 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 	 */
 	private void resetPanel()
 	{
+		setOverlayChannels(new int[0], new String[0]);
+		
 		this.graphEnabled = false;
 		this.checkbox_Enabled.setSelected(false);
 		this.combo_Devices.setSelectedIndex(0);
@@ -380,41 +514,16 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 	
 	/**
 	 * Calculates the vertical tick marks for the graph so they will be rendered at the appropriate locations.
+	 * 
+	 * @param width - width of the graph pane, used to determine the spacing of the gap for the tick lines
+	 * @param height - height of the graph pane
+	 * @param seconds - graph width in seconds
 	 */
-    private void calculateTickMarks()
+    private void calculateTickMarks(int width, int height, double seconds)
     {    	
-    	// Get the width and height of the graph panel so we can determine the spacing of the gap for the tick lines
-    	int width = panel_Graph.getSize().width;
-    	int height = panel_Graph.getSize().height;
-
-    	// Set the gap to be the width / how many lines to show
-    	// FIXME: This needs to reflect a changeable number of tick lines per graph and not a fixed amount
-    	    	
-    	int lWidth = width / 2;
-    	int rWidth = width / 2;
-    	    	
-    	double seconds =  this.dmp.getGraphWindowSeconds();
-    	int ticksPer = 4;
-    	
-    	if (seconds < .5)
-    		ticksPer *= 4;
-    	else if (seconds > 16)
-    		ticksPer = 2;
-    	
-    	int lGap = (int) (lWidth / (seconds * ticksPer));
-    	int rGap = (int) (rWidth / (seconds * ticksPer));
-    	
-    	Vector<Line>ticks = new Vector<Line>();
-    	
-    	for (int i = lWidth; i > 0; i-=lGap)
-    	{
-    		ticks.add(new Line(i, 0, i, height));
-    	}
-    	
-    	for (int i = lWidth; i < width + 1; i+=rGap)
-    	{
-    		ticks.add(new Line(i, 0, i, height));
-    	}
+    	// Refill the back tick buffer in place, instead of creating new lines for every update
+    	LineBuffer ticks = backTicks;
+    	GraphLineBuilder.createTickLines(ticks, width, height, seconds);
    	
     	
     	
@@ -452,52 +561,285 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 //    		ticks.add(new Line(i, i * gap, 0, i * gap, height));
 //    	}
     	
-    	// Send the tick array to the graph panel so they can be rendered
-    	panel_Graph.setTicks(ticks, (this.dmp.getGraphWindowSeconds() == 64) ? true : false);
-    	
     	// Set the center position of the graph ticks to the size of the array / 2
     	graphTickCenter = ticks.size() / 2;
     }
     
     /**
-     * Calculates the state lines for the graph to display them in the graph window
+     * Calculates the state lines between two columns for the graph to display them in the graph window
+     * 
+     * @param dmp - data model proxy to request the state data from
+     * @param device - device name from the device combo box
+     * @param channels - the current channel followed by any overlaid channels
+     * @param scale - pixels per millisecond
+     * @param first - first column to be graphed
+     * @param last - last column to be graphed
+     * @param origin - column at the left side of the graph
      */
-    public void calculateStateLines()
+    private void calculateStateLines(DataModelProxy dmp, String device, int[] channels, double scale, long first, long last, long origin)
     {
-    	// Get the device name from the device combo box.
-    	String device = (String)combo_Devices.getSelectedItem();
+    	// Add buffers if more channels are graphed than ever before. The existing ones are kept so they can be reused.
+    	if (backStates.length < channels.length)
+    	{
+    		LineBuffer[] states = new LineBuffer[channels.length];
+    		System.arraycopy(backStates, 0, states, 0, backStates.length);
+    		
+    		for (int i = backStates.length; i < channels.length; i++)
+    			states[i] = new LineBuffer();
+    		
+    		backStates = states;
+    	}
     	
-    	// If the device name equals Devices, then we nullify out the graph's state data
-    	// Otherwise get the state data from the data model proxy and pass it to the graph to be rendered
+    	// If the device name equals Devices, then we clear out the graph's state data
+    	// Otherwise get the state data from the data model proxy so it can be rendered
     	if (device.equals("Devices"))
     	{
-    		panel_Graph.setStates(null);
+    		for (int i = 0; i < channels.length; i++)
+    			backStates[i].clear();
     	}
     	else
     	{
-    		// Request the state data from the data model proxy and send it too the graph panel
-        	Vector<Line> states = dmp.getDataForChannel(device, graphTickCenter, currChannel, panel_Graph.getSize().width, 10, gap, 47);
-        	
-        	// Send the state data off to the graph for rendering
-        	panel_Graph.setStates(states);   		
+    		// Request the state data for all of the channels at once from the data model proxy, filling the back state buffers in place
+        	dmp.getDataForChannels(backStates, device, channels, scale, first, last, origin, 10, 47);
     	}
     }
     
     /**
-     * Updates the graph by rendering the tick & state lines
+     * Updates the graph by rendering the tick & state lines.
+     * 
+     * The settings the graph needs are saved here on the event dispatch thread, and the lines are calculated by the 
+     * render thread. If the graph is updated again before the render thread gets to it, it is only calculated once.
      */
     public void updateGraph()
 	{
-    	// Calculate the tick marks to be rendered on the graph
-		calculateTickMarks();
-		
-		// If the graph is enabled, go ahead and calculate the state lines
-		// Otherwise nullify the state lines in the graph panel so they are not rendered
-		if (this.graphEnabled)
-			calculateStateLines();
-		else
-			panel_Graph.setStates(null);
+    	int width = panel_Graph.getSize().width;
+    	int height = panel_Graph.getSize().height;
+    	String device = (String)combo_Devices.getSelectedItem();
+    	
+    	synchronized (this)
+    	{
+    		if (this.dmp != null)
+    		{
+    			long position = this.dmp.getGraphPosition();
+    			double seconds = this.dmp.getGraphWindowSeconds();
+    			
+    			// If the graph would be calculated with exactly what it was last asked for, there is nothing to do.
+    			// The device and channels are compared by reference, since they are replaced rather than changed.
+    			if (!redrawStates && renderDmp != null && position == requestPosition && seconds == requestSeconds
+    					&& width == renderWidth && height == renderHeight && device == renderDevice && graphChannels == renderChannels
+    					&& graphEnabled == renderEnabled)
+    				return;
+    			
+    			requestPosition = position;
+    			requestSeconds = seconds;
+    		}
+    		
+	    	// Save the settings to be used by the render thread
+	    	renderDmp = this.dmp;
+	    	renderWidth = width;
+	    	renderHeight = height;
+	    	renderDevice = device;
+	    	renderChannels = graphChannels;
+	    	renderEnabled = this.graphEnabled;
+    	}
+    	
+    	// Have the render thread calculate the lines
+    	renderer.requestRender(this);
 	}
+    
+    /**
+     * Updates the graph, drawing all of its states again instead of only the columns that have come onto the graph.
+     */
+    private void redrawGraph()
+    {
+    	synchronized (this)
+    	{
+    		redrawStates = true;
+    	}
+    	
+    	updateGraph();
+    }
+    
+    /**
+     * Calculates the tick & state lines into the back buffers, and then hands them to the graph pane on the event dispatch thread.
+     * 
+     * If only the position has changed by less than half of the graph since the states were last drawn, only the lines for the
+     * columns that have come onto the graph are calculated, and the graph pane shifts the rest of the states over.
+     * 
+     * NOTE: This is called by the render thread. If the last lines calculated haven't been handed to the graph pane yet, 
+     * 		 the back buffers are still in use, so the graph is calculated again after they have been handed over.
+     */
+    public void renderGraph()
+    {
+    	DataModelProxy dmp;
+    	int width, height;
+    	int[] channels;
+    	String device;
+    	boolean enabled, redraw;
+    	
+    	synchronized (this)
+    	{
+    		if (swapPending)
+    		{
+    			renderAgain = true;
+    			return;
+    		}
+    		
+    		dmp = renderDmp;
+    		width = renderWidth;
+    		height = renderHeight;
+    		device = renderDevice;
+    		channels = renderChannels;
+    		enabled = renderEnabled;
+    		redraw = redrawStates;
+    		
+    		// Clear the request here, so a redraw requested while these states are being calculated isn't lost
+    		redrawStates = false;
+    	}
+    	
+    	// Nothing can be calculated until the data model has been sent
+    	if (dmp == null)
+    		return;
+    	
+    	double seconds = dmp.getGraphWindowSeconds();
+    	long position = dmp.getGraphPosition();
+    	
+    	// Calculate the tick marks to be rendered on the graph, but only if the size or graph width has changed since they were last calculated
+    	final boolean ticksChanged = (width != tickWidth || height != tickHeight || seconds != tickSeconds);
+    	
+    	if (ticksChanged)
+    	{
+    		calculateTickMarks(width, height, seconds);
+    		
+    		tickWidth = width;
+    		tickHeight = height;
+    		tickSeconds = seconds;
+    	}
+    	
+    	// Find the pixels per millisecond and the column at the left side of the graph.
+    	double scale = GraphLineBuilder.getScale(width, seconds);
+    	long left = GraphLineBuilder.getColumn(position - (seconds * 1000) / 2, scale);
+    	
+    	// Check if anything other than the position has changed since the states were last drawn
+    	boolean sameStates = !redraw && enabled == stateEnabled && scale == stateScale && width == stateWidth && height == stateHeight
+    			&& Arrays.equals(channels, stateChannels) && device.equals(stateDevice);
+    	
+    	long shift = left - stateLeft;
+    	
+    	// If nothing has changed there is nothing to draw
+    	if (sameStates && shift == 0 && !ticksChanged)
+    		return;
+    	
+    	final boolean scroll = enabled && sameStates && Math.abs(shift) < width / 2;
+    	final int x0, x1;
+    	
+    	// The graph isn't enabled, so no state lines are rendered
+    	final int count = enabled ? channels.length : 0;
+    	
+    	if (!enabled)
+    	{
+    		x0 = 0;
+    		x1 = width;
+    	}
+    	else if (!scroll)
+    	{
+    		// Calculate all of the state lines, including the lines just off the edge that reach onto the graph
+    		calculateStateLines(dmp, device, channels, scale, left - GraphLineBuilder.EDGE_COLUMNS, left + width, left);
+    		x0 = 0;
+    		x1 = width;
+    	}
+    	else if (shift > 0)
+    	{
+    		// The graph moved forwards, so calculate the columns that came onto the right side
+    		x0 = (int) (width - shift - SCROLL_OVERLAP);
+    		x1 = width;
+    		calculateStateLines(dmp, device, channels, scale, left + x0 - SCROLL_OVERLAP, left + width, left);
+    	}
+    	else
+    	{
+    		// The graph moved backwards, so calculate the columns that came onto the left side
+    		x0 = 0;
+    		x1 = (int) (SCROLL_OVERLAP - shift);
+    		calculateStateLines(dmp, device, channels, scale, left - GraphLineBuilder.EDGE_COLUMNS, left + x1 + SCROLL_OVERLAP, left);
+    	}
+    	
+    	final int scrollShift = (int) shift;
+		final boolean thickCenter = (seconds == 64) ? true : false;
+    	
+    	// Remember what the states are being drawn with
+    	stateLeft = left;
+    	stateScale = scale;
+    	stateWidth = width;
+    	stateHeight = height;
+    	stateDevice = device;
+    	stateChannels = channels;
+    	stateEnabled = enabled;
+		
+		synchronized (this)
+		{
+			swapPending = true;
+		}
+		
+		// Hand the lines to the graph pane on the event dispatch thread
+		SwingUtilities.invokeLater(new Runnable()
+		{
+			public void run()
+			{
+				swapBuffers(ticksChanged, thickCenter, scroll, scrollShift, x0, x1, count);
+			}
+		});
+    }
+    
+    /**
+     * Hands the back buffers to the graph pane. The tick marks are swapped with the ones being drawn, and only if they were 
+     * calculated again. The states are drawn onto the graph pane, either shifting the states already drawn or drawing them all.
+     * 
+     * @param ticksChanged
+     * @param thickCenter
+     * @param scroll - if the states already drawn should be shifted
+     * @param shift - the number of columns to shift the states left
+     * @param x0 - first column of the states calculated
+     * @param x1 - column after the last column of the states calculated
+     * @param count - the number of state buffers to draw
+     */
+    private void swapBuffers(boolean ticksChanged, boolean thickCenter, boolean scroll, int shift, int x0, int x1, int count)
+    {
+    	LineBuffer ticks = panel_Graph.getTicks();
+    	
+    	if (ticksChanged)
+    		panel_Graph.setTicks(backTicks, thickCenter);
+    	
+    	// If the graph pane doesn't have the states to shift, all of them will have to be calculated again.
+    	boolean drawn = true;
+    	
+    	if (scroll)
+    		drawn = panel_Graph.scrollStates(backStates, count, shift, x0, x1);
+    	else
+    		panel_Graph.setStates(backStates, count);
+    	
+    	boolean again;
+    	
+    	synchronized (this)
+    	{
+    		if (ticksChanged)
+    			backTicks = ticks;
+	    	
+	    	swapPending = false;
+	    	
+	    	if (!drawn)
+	    	{
+	    		redrawStates = true;
+	    		renderAgain = true;
+	    	}
+	    	
+	    	again = renderAgain;
+	    	renderAgain = false;
+    	}
+    	
+    	// If the graph was updated while the buffers were waiting to be swapped, calculate it again.
+    	if (again)
+    		renderer.requestRender(this);
+    }
 
 
 	//-------------------------------------------------------------------------------------------------------------------------------------
@@ -551,7 +893,7 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 		else if (data == null)
 		{
 			combo_Channel.setModel(new DefaultComboBoxModel(this.defaultChannelModel));
-			panel_Graph.setStates(null);
+			panel_Graph.clearStates();
 		}
 // 	OLD COMBO BOX SETTING METHOD - REPLACED BY else if ON 7/30/2013 - DR
 //		else
@@ -594,5 +936,165 @@ public class GraphPanel extends JPanel implements ActionListener, ItemListener,
 	public void setCurrChannel(int currChannel) 
 	{
 		this.currChannel = currChannel;
-	}	
+		
+		updateGraphChannels();
+	}
+	
+	/**
+	 * Sets the channels that are drawn on top of the current channel, and lists them in the graph's tool tip.
+	 * 
+	 * @param channels
+	 * @param names
+	 */
+	private void setOverlayChannels(int[] channels, String[] names)
+	{
+		this.overlayChannels = channels;
+		this.overlayNames = names;
+		
+		updateGraphChannels();
+		
+		if (names.length == 0)
+		{
+			panel_Graph.setToolTipText(null);
+		}
+		else
+		{
+			StringBuilder text = new StringBuilder("Overlaid: ");
+			
+			for (int i = 0; i < names.length; i++)
+				text.append((i == 0) ? "" : ", ").append(names[i]);
+			
+			panel_Graph.setToolTipText(text.toString());
+		}
+	}
+	
+	/**
+	 * Creates the list of channels to be graphed from the current channel and the overlaid channels
+	 */
+	private void updateGraphChannels()
+	{
+		int[] channels = new int[overlayChannels.length + 1];
+		
+		channels[0] = currChannel;
+		System.arraycopy(overlayChannels, 0, channels, 1, overlayChannels.length);
+		
+		graphChannels = channels;
+	}
+	
+	/**
+	 * Shows a menu with every other channel of the graph's device, so they can be drawn on top of the graph's channel.
+	 * The menu is only shown once the graph has a device selected.
+	 * 
+	 * @param e - the mouse event that triggered the menu
+	 */
+	private void showOverlayMenu(MouseEvent e)
+	{
+		if (dmp == null || !graphEnabled || combo_Devices.getSelectedIndex() == 0)
+			return;
+		
+		Vector<DeviceInputMap> inputs = dmp.getInputMapForDevice((String)combo_Devices.getSelectedItem());
+		
+		if (inputs == null)
+			return;
+		
+		JPopupMenu menu = new JPopupMenu("Overlay Channels");
+		
+		for (DeviceInputMap dim : inputs)
+		{
+			final int bit = dim.getBitNumber();
+			final String name = dim.getChannelName();
+			
+			// The graph's own channel is always drawn
+			if (bit == currChannel)
+				continue;
+			
+			JCheckBoxMenuItem item = new JCheckBoxMenuItem(name, indexOfOverlay(bit) >= 0);
+			
+			// Show the color the channel is drawn with once it is overlaid
+			if (item.isSelected())
+				item.setForeground(panel_Graph.getTraceColor(indexOfOverlay(bit) + 1));
+			
+			item.addActionListener(new ActionListener()
+			{
+				public void actionPerformed(ActionEvent ae)
+				{
+					toggleOverlay(bit, name);
+				}
+			});
+			
+			menu.add(item);
+		}
+		
+		menu.addSeparator();
+		
+		JMenuItem clear = new JMenuItem("Clear Overlays");
+		clear.setEnabled(overlayChannels.length > 0);
+		clear.addActionListener(new ActionListener()
+		{
+			public void actionPerformed(ActionEvent ae)
+			{
+				setOverlayChannels(new int[0], new String[0]);
+				updateGraph();
+			}
+		});
+		menu.add(clear);
+		
+		menu.show(panel_Graph, e.getX(), e.getY());
+	}
+	
+	/**
+	 * Adds the channel to the overlaid channels, or removes it if it is already overlaid, and updates the graph.
+	 * 
+	 * @param bit
+	 * @param name
+	 */
+	private void toggleOverlay(int bit, String name)
+	{
+		int index = indexOfOverlay(bit);
+		int size = overlayChannels.length;
+		
+		int[] channels;
+		String[] names;
+		
+		if (index < 0)
+		{
+			// Add the channel to the end, so the other channels keep their colors
+			channels = Arrays.copyOf(overlayChannels, size + 1);
+			names = Arrays.copyOf(overlayNames, size + 1);
+			
+			channels[size] = bit;
+			names[size] = name;
+		}
+		else
+		{
+			// Remove the channel, moving the ones after it down
+			channels = new int[size - 1];
+			names = new String[size - 1];
+			
+			System.arraycopy(overlayChannels, 0, channels, 0, index);
+			System.arraycopy(overlayChannels, index + 1, channels, index, size - index - 1);
+			System.arraycopy(overlayNames, 0, names, 0, index);
+			System.arraycopy(overlayNames, index + 1, names, index, size - index - 1);
+		}
+		
+		setOverlayChannels(channels, names);
+		updateGraph();
+	}
+	
+	/**
+	 * Returns the position of the channel in the overlaid channels, or -1 if it isn't overlaid
+	 * 
+	 * @param bit
+	 * @return
+	 */
+	private int indexOfOverlay(int bit)
+	{
+		for (int i = 0; i < overlayChannels.length; i++)
+		{
+			if (overlayChannels[i] == bit)
+				return i;
+		}
+		
+		return -1;
+	}
 }
@@ -0,0 +1,136 @@
+/**
+ * ****************************************************************
+ * File: 			FrameCache.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To keep the video frames that were most recently
+ * 					stepped through, so stepping back to one of them
+ * 					can show the saved image instead of making VLC
+ * 					seek back and decode from the last keyframe.
+ *
+ * 					The frames are kept in a ring buffer, so once it
+ * 					is full each new frame replaces the oldest one.
+ *
+ * ****************************************************************
+ */
+package views.videos;
+
+import java.awt.image.BufferedImage;
+
+public class FrameCache
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Frame Cache Variable Declarations
+
+	/**
+	 * Used for storing the video time and image of each frame. The indexes match between the arrays.
+	 */
+	private long[] times;
+	private BufferedImage[] frames;
+
+	/**
+	 * Used for keeping track of where the next frame is stored, and how many frames are stored
+	 */
+	private int next = 0;
+	private int count = 0;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Frame Cache Construction
+
+	/**
+	 * Creates a cache that holds up to capacity frames
+	 *
+	 * @param capacity
+	 */
+	public FrameCache(int capacity)
+	{
+		times = new long[capacity];
+		frames = new BufferedImage[capacity];
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Frame Cache Methods
+
+	/**
+	 * Stores the frame shown at the video time. If a frame is already stored for that time, it is replaced.
+	 *
+	 * @param time - video time in milliseconds
+	 * @param frame
+	 * @param tolerance - the number of milliseconds two times can be apart and still be the same frame
+	 */
+	public synchronized void add(long time, BufferedImage frame, long tolerance)
+	{
+		if (frame == null)
+			return;
+
+		int index = indexOf(time, tolerance);
+
+		if (index < 0)
+		{
+			index = next;
+			next = (next + 1) % times.length;
+			count = Math.min(count + 1, times.length);
+		}
+
+		times[index] = time;
+		frames[index] = frame;
+	}
+
+	/**
+	 * Returns the frame stored for the video time, or null if there isn't one.
+	 *
+	 * @param time - video time in milliseconds
+	 * @param tolerance - the number of milliseconds a stored frame's time can be from the time
+	 * @return
+	 */
+	public synchronized BufferedImage get(long time, long tolerance)
+	{
+		int index = indexOf(time, tolerance);
+
+		return (index < 0) ? null : frames[index];
+	}
+
+	/**
+	 * Removes all of the frames
+	 */
+	public synchronized void clear()
+	{
+		for (int i = 0; i < frames.length; i++)
+			frames[i] = null;
+
+		next = 0;
+		count = 0;
+	}
+
+	/**
+	 * Returns the index of the stored frame closest to the time, or -1 if none are within the tolerance.
+	 *
+	 * @param time
+	 * @param tolerance
+	 * @return
+	 */
+	private int indexOf(long time, long tolerance)
+	{
+		int index = -1;
+		long closest = tolerance;
+
+		for (int i = 0; i < count; i++)
+		{
+			long distance = Math.abs(times[i] - time);
+
+			if (distance <= closest)
+			{
+				index = i;
+				closest = distance;
+			}
+		}
+
+		return index;
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * ****************************************************************
+ * File: 			PlayerFuture.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To hold the result of a command sent to a video
+ * 					player, such as the video time once it has paused.
+ * 					The result is set when VLC reports that the
+ * 					command has taken effect, so the caller can carry
+ * 					on and only wait for the result when it needs it.
+ *
+ * ****************************************************************
+ */
+package views.videos;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class PlayerFuture<T> implements Future<T>
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Player Future Variable Declarations
+
+	/**
+	 * Used for letting any threads waiting on the result continue once it has been set
+	 */
+	private final CountDownLatch done = new CountDownLatch(1);
+
+	/**
+	 * Used for storing the result once it has been set
+	 */
+	private volatile T value;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Player Future Methods
+
+	/**
+	 * Sets the result and lets any waiting threads continue. Only the first result is kept.
+	 *
+	 * @param value
+	 * @return true if this set the result
+	 */
+	public synchronized boolean complete(T value)
+	{
+		if (done.getCount() == 0)
+			return false;
+
+		this.value = value;
+		done.countDown();
+
+		return true;
+	}
+
+	/**
+	 * The commands have already been sent to VLC, so they can't be cancelled.
+	 */
+	public boolean cancel(boolean mayInterruptIfRunning)
+	{
+		return false;
+	}
+
+	public boolean isCancelled()
+	{
+		return false;
+	}
+
+	public boolean isDone()
+	{
+		return done.getCount() == 0;
+	}
+
+	/**
+	 * Waits until the result has been set and returns it
+	 */
+	public T get() throws InterruptedException
+	{
+		done.await();
+
+		return value;
+	}
+
+	/**
+	 * Waits up to the timeout for the result to be set and returns it
+	 */
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException
+	{
+		if (!done.await(timeout, unit))
+			throw new TimeoutException();
+
+		return value;
+	}
+}
@@ -0,0 +1,337 @@
+/**
+ * ****************************************************************
+ * File: 			ThumbnailIndex.java
+ * Date Created:  	October 18, 2026
+ * Programmer:		Dale Reed
+ *
+ * Purpose:			To keep small images of a video taken at a fixed
+ * 					interval, so dragging the position slider can
+ * 					show roughly where the video will be without
+ * 					having VLC seek on every movement. The video is
+ * 					only moved once the slider is let go.
+ *
+ * 					The images are saved to a file next to the
+ * 					video, so they only have to be taken the first
+ * 					time the video is opened. The file is only used
+ * 					if the video has not changed since it was written.
+ *
+ * ****************************************************************
+ */
+package views.videos;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+public class ThumbnailIndex
+{
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thumbnail Index Variable Declarations
+
+	/**
+	 * Identifies the file as a VideoSync thumbnail file ("VSTH")
+	 */
+	private static final int MAGIC = 0x56535448;
+
+	/**
+	 * The version of the file layout. This must be changed any time the layout changes.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * The number of bytes before the thumbnails: the magic number, version, video file key, interval and thumbnail count
+	 */
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4;
+
+	/**
+	 * The extension that is added to the video file name. The thumbnail file also starts with a '.' so that it
+	 * is treated as a hidden file and skipped when a directory is opened.
+	 */
+	private static final String EXTENSION = ".vsthumbs";
+
+	/**
+	 * The number of milliseconds of video between each thumbnail
+	 */
+	public static final int INTERVAL = 2000;
+
+	/**
+	 * Used for referencing the video file and the thumbnail file that goes with it
+	 */
+	private File source;
+	private File index;
+
+	/**
+	 * Used for storing the key of the video file at the time the index object was created
+	 */
+	private long sourceLength;
+	private long sourceModified;
+
+	/**
+	 * Used for storing each thumbnail as a compressed JPEG image, so a long video's thumbnails don't take up much memory.
+	 * A thumbnail that hasn't been taken yet is null.
+	 */
+	private byte[][] thumbnails = new byte[0][];
+
+	/**
+	 * Used for keeping the thumbnail that was last decoded, since dragging the slider asks for the same one many times in a row
+	 */
+	private int decodedIndex = -1;
+	private BufferedImage decoded;
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thumbnail Index Construction
+
+	/**
+	 * Creates the index for a video file and records the video file's key so it can be compared with the thumbnail file.
+	 * @param source
+	 */
+	public ThumbnailIndex(File source)
+	{
+		this.source = source;
+		this.index = new File(source.getAbsoluteFile().getParentFile(), "." + source.getName() + EXTENSION);
+
+		this.sourceLength = source.length();
+		this.sourceModified = source.lastModified();
+	}
+
+
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	//-------------------------------------------------------------------------------------------------------------------------------------
+	// -- Thumbnail Index Methods
+
+	/**
+	 * Reads the thumbnails from the thumbnail file.
+	 * Returns false if there is no thumbnail file, or it was written for a different version of the video file.
+	 * @return
+	 */
+	public boolean load()
+	{
+		if (!index.isFile())
+			return false;
+
+		try
+		{
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(index), 1 << 16));
+
+			try
+			{
+				// Make sure the thumbnail file belongs to the video file as it is now
+				if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != sourceLength
+						|| in.readLong() != sourceModified || in.readInt() != INTERVAL)
+					return false;
+
+				int count = in.readInt();
+				long remaining = index.length() - HEADER_SIZE;
+
+				// Every thumbnail takes at least the 4 bytes of its length, so a count that couldn't fit in the file means
+				// it is damaged. This is checked before anything is allocated, so a damaged count can't run out of memory.
+				if (count < 0 || count * 4L > remaining)
+					return false;
+
+				byte[][] loaded = new byte[count][];
+
+				for (int i = 0; i < loaded.length; i++)
+				{
+					int length = in.readInt();
+					remaining -= 4;
+
+					if (length < 0 || length > remaining)
+						return false;
+
+					if (length > 0)
+					{
+						loaded[i] = new byte[length];
+						in.readFully(loaded[i]);
+						remaining -= length;
+					}
+				}
+
+				setThumbnails(loaded);
+
+				return true;
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		catch (IOException e)
+		{
+			// A truncated or unreadable thumbnail file is treated the same as a missing one
+			System.err.println("Ignoring thumbnail file " + index.getName() + ": " + e);
+		}
+		catch (RuntimeException e)
+		{
+			// A damaged thumbnail file is treated the same as a missing one
+			System.err.println("Ignoring damaged thumbnail file " + index.getName() + ": " + e);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Writes the thumbnails to the thumbnail file. The file is written under a temporary name first so that a
+	 * partially written file is never read. Any errors are reported but otherwise ignored, since the thumbnails
+	 * can always be taken again.
+	 */
+	public void save()
+	{
+		byte[][] saved = getThumbnails();
+
+		File temp = new File(index.getParentFile(), index.getName() + ".tmp");
+
+		try
+		{
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16));
+
+			try
+			{
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(sourceLength);
+				out.writeLong(sourceModified);
+				out.writeInt(INTERVAL);
+				out.writeInt(saved.length);
+
+				for (byte[] thumbnail : saved)
+				{
+					if (thumbnail == null)
+					{
+						out.writeInt(0);
+					}
+					else
+					{
+						out.writeInt(thumbnail.length);
+						out.write(thumbnail);
+					}
+				}
+			}
+			finally
+			{
+				out.close();
+			}
+
+			// Replace any old thumbnail file with the new one
+			if (index.exists() && !index.delete())
+				throw new IOException("Unable to replace " + index.getName());
+
+			if (!temp.renameTo(index))
+				throw new IOException("Unable to rename " + temp.getName());
+		}
+		catch (IOException e)
+		{
+			// The directory may be read only, in which case the thumbnails will just be taken every time
+			System.err.println("Unable to write thumbnail file for " + source.getName() + ": " + e.getMessage());
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Makes room for the thumbnails of a video of the length passed, clearing any thumbnails already stored.
+	 * @param length - the length of the video in milliseconds
+	 */
+	public synchronized void setLength(long length)
+	{
+		setThumbnails(new byte[(int) (Math.max(length, 0) / INTERVAL) + 1][]);
+	}
+
+	/**
+	 * Stores the thumbnail for the position at the index, compressing it as a JPEG image.
+	 * The thumbnail can be shown as soon as it is stored, before the index has been saved.
+	 *
+	 * @param position - the thumbnail's position in the index, which is its video time divided by the interval
+	 * @param thumbnail
+	 */
+	public void set(int position, BufferedImage thumbnail)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try
+		{
+			ImageIO.write(thumbnail, "jpg", bytes);
+		}
+		catch (IOException e)
+		{
+			System.err.println("Unable to compress thumbnail for " + source.getName() + ": " + e.getMessage());
+			return;
+		}
+
+		synchronized (this)
+		{
+			if (position >= 0 && position < thumbnails.length)
+				thumbnails[position] = bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * Returns the thumbnail closest to the video time, or null if it hasn't been taken.
+	 *
+	 * @param time - video time in milliseconds
+	 * @return
+	 */
+	public synchronized BufferedImage get(long time)
+	{
+		int position = (int) Math.min(Math.max((time + INTERVAL / 2) / INTERVAL, 0), thumbnails.length - 1);
+
+		if (position < 0 || thumbnails[position] == null)
+			return null;
+
+		if (position != decodedIndex)
+		{
+			try
+			{
+				decoded = ImageIO.read(new ByteArrayInputStream(thumbnails[position]));
+				decodedIndex = position;
+			}
+			catch (IOException e)
+			{
+				return null;
+			}
+		}
+
+		return decoded;
+	}
+
+	/**
+	 * Returns the number of thumbnails the index has room for
+	 * @return
+	 */
+	public synchronized int size()
+	{
+		return thumbnails.length;
+	}
+
+	/**
+	 * Replaces the stored thumbnails
+	 * @param thumbnails
+	 */
+	private synchronized void setThumbnails(byte[][] thumbnails)
+	{
+		this.thumbnails = thumbnails;
+
+		decodedIndex = -1;
+		decoded = null;
+	}
+
+	/**
+	 * Returns a copy of the list of stored thumbnails, so they can be written without holding the lock
+	 * @return
+	 */
+	private synchronized byte[][] getThumbnails()
+	{
+		return thumbnails.clone();
+	}
+}
@@ -16,6 +16,7 @@ package views.videos;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.FlowLayout;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
@@ -30,19 +31,28 @@ import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.swing.JFrame;
 import javax.swing.JSlider;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.JWindow;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
 import models.DataModel;
 import models.DataModelProxy;
+import threads.ThreadThumbnails;
 import uk.co.caprica.vlcj.binding.internal.libvlc_media_t;
 import uk.co.caprica.vlcj.component.EmbeddedMediaPlayerComponent;
 import uk.co.caprica.vlcj.player.MediaPlayer;
@@ -78,9 +88,37 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	private DataModelProxy dmp;
 	
 	/**
-	 * Used in frameAdvance() for ensuring that the appropriate number of time has elapsed between frame jumps
+	 * The number of frames kept for stepping back without seeking, and the frame rate used when VLC doesn't know the video's frame rate
 	 */
-	private long lastSystemTime;
+	private static final int FRAME_CACHE_SIZE = 30;
+	private static final float DEFAULT_FPS = 30;
+	
+	/**
+	 * Used for keeping the frames that were most recently stepped through
+	 */
+	private FrameCache frameCache = new FrameCache(FRAME_CACHE_SIZE);
+	
+	/**
+	 * Used while stepping through frames for keeping track of the time of the frame VLC is on, and the time of the frame
+	 * being shown. These are different when a saved frame is being shown, and are -1 when the video isn't being stepped through.
+	 * 
+	 * NOTE: These are only used on the event dispatch thread.
+	 */
+	private long decodedTime = -1;
+	private long shownTime = -1;
+	
+	/**
+	 * Used for showing a saved frame over the video, and the frame it shows
+	 */
+	private JWindow frameOverlay;
+	private BufferedImage overlayFrame;
+	
+	/**
+	 * Used for showing where the video will be while the position slider is dragged, and the thread that takes the thumbnails
+	 * when the video doesn't have a thumbnail file yet
+	 */
+	private ThumbnailIndex thumbnails;
+	private ThreadThumbnails thumbnailThread;
 
 	/**
 	 * Keeps track of the video file used with this player.
@@ -104,6 +142,57 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	 * Stores the time parameter sent by the constructor during startup.
 	 */
 	private long sentTime;
+	
+	/**
+	 * The number of milliseconds the video's time is ahead of the data, for cameras whose recordings didn't start at the same time.
+	 * The video is kept at the data's position plus this offset.
+	 */
+	private long timeOffset = 0;
+	
+	/**
+	 * The number of milliseconds the offset is changed by each time the '[' or ']' key is pressed
+	 */
+	private static final long OFFSET_STEP = 100;
+	
+	/**
+	 * The longest number of milliseconds a command waits for VLC to report that the video has started or paused
+	 */
+	private static final long EVENT_TIMEOUT = 2000;
+	
+	/**
+	 * The longest number of milliseconds to wait for VLC to report that it has reached a frame before saving it
+	 */
+	private static final long FRAME_TIMEOUT = 250;
+	
+	/**
+	 * Used for sending commands to VLC one at a time on the player's own thread. The caller, which is usually the
+	 * event dispatch thread, never waits on VLC, and each player runs its commands at the same time as the others.
+	 */
+	private ExecutorService commands;
+	
+	/**
+	 * Used for the requests that are waiting for VLC to report that the video has started or paused playing.
+	 * These are completed from the media player events.
+	 */
+	private PlayerFuture<Long> pendingPlay;
+	private PlayerFuture<Long> pendingPause;
+	private final Object eventLock = new Object();
+	
+	/**
+	 * Used for the request that is waiting for VLC to report that it has reached the frame at a time, give or take half a frame.
+	 * This is completed from the time changed event.
+	 */
+	private PlayerFuture<Long> pendingFrame;
+	private long pendingFrameTime;
+	private long pendingFrameTolerance;
+	
+	/**
+	 * Used for remembering the last play command sent to VLC. VLC starts playing in the background, so until it reports
+	 * that it has started, the video can look like it isn't playing even though it is about to.
+	 * 
+	 * NOTE: This is only used on the player's own thread.
+	 */
+	private PlayerFuture<Long> playRequest;
 
 	/**
 	 * Used for displaying the current time on the video player.
@@ -154,15 +243,28 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 		// Set the video file to be played back.
 		this.videoFile = file;
 		
+		// Set the thumbnail index that goes with the video file
+		this.thumbnails = new ThumbnailIndex(file);
+		
+		// Create the thread that sends this player's commands to VLC
+		this.commands = Executors.newSingleThreadExecutor(new ThreadFactory()
+		{
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "Video Player: " + videoFile.getName());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		
 		// Create the video player layout and set it on the screen.
 		createVideoPlayer(vlcPath, playerID);
 		
-		// Set the video file so it can be used with VLC
+		// Set the video file so it can be used with VLC. This finishes on the player's own thread, so several videos can be opened at once.
 		setVideoFile();
 		
 		// Create the Video Controller and Key listener only for the standalone version.
 		//createVideoController();
-		lastSystemTime = System.currentTimeMillis();
 		
 		// Set the Video Player's Title
 		this.setTitle(file.getName());
@@ -252,65 +354,189 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 		
 		// Make the video player visible.
 		this.setVisible(true);
+		
+		// Create the window that shows saved frames over the video while stepping back. It covers the whole video, so it
+		// doesn't need to be translucent. VLC keeps it over the video surface, and it is only shown while it is enabled.
+		frameOverlay = new JWindow(this);
+		frameOverlay.setContentPane(new JPanel()
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void paintComponent(Graphics g)
+			{
+				super.paintComponent(g);
+				
+				if (overlayFrame != null)
+					g.drawImage(overlayFrame, 0, 0, getWidth(), getHeight(), null);
+			}
+		});
+		
+		mediaPlayer.setOverlay(frameOverlay);
 	}
 	
 	/**
-	 * Set the video player's source to the video file that was used in the constructor
+	 * Set the video player's source to the video file that was used in the constructor.
+	 * 
+	 * The video is opened, paused, and moved to the time sent by the constructor on the player's own thread.
+	 * 
+	 * @return the video time once it is ready
 	 */
-	public void setVideoFile()
+	public Future<Long> setVideoFile()
 	{
-		// Set the player to quite mode and not print out any information as it plays.
-		String[] options = {"quiet=true"};
+		final PlayerFuture<Long> ready = new PlayerFuture<Long>();
 		
-		// Tell the instantiate with the video file and use the options included
-		mediaPlayer.playMedia(videoFile.getAbsolutePath(), options);
-		
-		// This gives the player enough time to startup and get ready to go 
-		// and also give enough time for "pause" to take effect. We pause after 
-		// 400ms because when playMedia() is used, it immediately starts
-		// playing the video files.
-		try 
-		{
-			Thread.sleep(400);
-		} 
-		catch (InterruptedException e) 
+		commands.execute(new Runnable()
 		{
-			e.printStackTrace();
-		}
-		
-		// Pause the media player.
-		mediaPlayer.pause();
+			public void run()
+			{
+				// Set the player to quite mode and not print out any information as it plays.
+				String[] options = {"quiet=true"};
+				
+				// Tell the instantiate with the video file and use the options included.
+				// playMedia() immediately starts playing the video file, so wait for VLC to report that it has
+				// started before pausing it, or the pause could be missed.
+				PlayerFuture<Long> started = expectPlaying();
+				mediaPlayer.playMedia(videoFile.getAbsolutePath(), options);
+				awaitEvent(started, "start");
+				
+				// Pause the media player, and wait for it to stop so the time is not moved while it is still playing.
+				PlayerFuture<Long> paused = expectPaused();
+				mediaPlayer.pause();
+				awaitEvent(paused, "pause");
+				
+				// Jump the video to the time sent by the constructor, including the video's offset.
+				mediaPlayer.setTime(sentTime + timeOffset);
+				
+				// If the current time & sent times do not match, it probably means the video attempted to play
+				// prematurely, so we need to ensure the video time matches with the time sent.
+				if (currentTime != sentTime)
+					currentTime = sentTime;
+				
+				// Occasionally this throws a NullPointerException which doesn't appear to be critical, so just silently
+				// catch the error and continue on.
+				try
+				{
+					// Display the video information for debugging information.
+					System.out.println("-------------------------------- VIDEO INFORMATION --------------------------------");
+					System.out.println(" - Video File: " + videoFile.getName());
+					System.out.println(" - Video Path: " + videoFile.getPath());
+					System.out.println(" - Video Length: " + mediaPlayer.getLength() + " ms");
+					System.out.println(" - Video Size: " + mediaPlayer.getVideoDimension().width + "x" + mediaPlayer.getVideoDimension().height);
+					System.out.println(" - Video Frame Rate: " + mediaPlayer.getFps());
+					System.out.println(" - Video Time between frames: " + (1000 / mediaPlayer.getFps()));		
+					System.out.println("-----------------------------------------------------------------------------------");
+				}
+				catch (NullPointerException npe)
+				{
+					
+				}
+				
+				// Read the video's thumbnails, or start taking them in the background if they haven't been saved yet
+				loadThumbnails();
+				
+				final long time = mediaPlayer.getTime();
+				
+				SwingUtilities.invokeLater(new Runnable()
+				{
+					public void run()
+					{
+						setVideoTimeLabel(time);
+					}
+				});
+				
+				ready.complete(time);
+			}
+		});
 		
-		// Jump the video to the time sent by the constructor.
-		jumpToTime(this.sentTime);
-
-		// If the current time & sent times do not match, it probably means the video attempted to play
-		// prematurely, so we need to ensure the video time matches with the time sent.
-		if (this.currentTime != this.sentTime)
-			this.currentTime = this.sentTime;
+		return ready;
+	}
+	
+	/**
+	 * Reads the thumbnails from the video's thumbnail file. If the file is missing or out of date, the thumbnails are
+	 * taken on a background thread instead, and can be shown as each one is taken.
+	 */
+	private void loadThumbnails()
+	{
+		if (thumbnails.load())
+			return;
 		
-		// Occasionally this throws a NullPointerException which doesn't appear to be critical, so just silently
-		// catch the error and continue on.
-		try
+		thumbnailThread = new ThreadThumbnails(videoFile, thumbnails, mediaPlayer.getLength(), mediaPlayer.getVideoDimension());
+		thumbnailThread.start();
+	}
+	
+	/**
+	 * Returns a request that is completed with the video time when VLC next reports that the video has started playing
+	 * @return
+	 */
+	private PlayerFuture<Long> expectPlaying()
+	{
+		synchronized (eventLock)
 		{
-			// Display the video information for debugging information.
-			System.out.println("-------------------------------- VIDEO INFORMATION --------------------------------");
-			System.out.println(" - Video File: " + videoFile.getName());
-			System.out.println(" - Video Path: " + videoFile.getPath());
-			System.out.println(" - Video Length: " + mediaPlayer.getLength() + " ms");
-			System.out.println(" - Video Size: " + mediaPlayer.getVideoDimension().width + "x" + mediaPlayer.getVideoDimension().height);
-			System.out.println(" - Video Frame Rate: " + mediaPlayer.getFps());
-			System.out.println(" - Video Time between frames: " + (1000 / mediaPlayer.getFps()));		
-			System.out.println("-----------------------------------------------------------------------------------");
+			if (pendingPlay == null || pendingPlay.isDone())
+				pendingPlay = new PlayerFuture<Long>();
+			
+			return pendingPlay;
 		}
-		catch (NullPointerException npe)
+	}
+	
+	/**
+	 * Returns a request that is completed with the video time when VLC next reports that the video has paused
+	 * @return
+	 */
+	private PlayerFuture<Long> expectPaused()
+	{
+		synchronized (eventLock)
 		{
+			if (pendingPause == null || pendingPause.isDone())
+				pendingPause = new PlayerFuture<Long>();
 			
+			return pendingPause;
 		}
-		
-		this.setVideoTimeLabel(mediaPlayer.getTime());
 	}
+	
+	/**
+	 * Returns a request that is completed with the video time when VLC next reports a time within the tolerance of the time passed
+	 * 
+	 * @param time - the video time of the frame
+	 * @param tolerance - the number of milliseconds the reported time can be from the frame's time
+	 * @return
+	 */
+	private PlayerFuture<Long> expectFrame(long time, long tolerance)
+	{
+		synchronized (eventLock)
+		{
+			pendingFrame = new PlayerFuture<Long>();
+			pendingFrameTime = time;
+			pendingFrameTolerance = tolerance;
 			
+			return pendingFrame;
+		}
+	}
+	
+	/**
+	 * Waits on the player's thread for VLC to report an event. If VLC never reports it, the player carries on after
+	 * the timeout, so a missed event can't stop the player's commands.
+	 * 
+	 * @param event
+	 * @param name - the name of the event, for the error message
+	 */
+	private void awaitEvent(PlayerFuture<Long> event, String name)
+	{
+		try
+		{
+			event.get(EVENT_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e)
+		{
+			System.err.println(" -- VLC did not report that " + videoFile.getName() + " had the " + name + " event after " + EVENT_TIMEOUT + " ms");
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
 	/**
 	 * This is only used when using a static instance of the video controller.
 	 * 
@@ -415,36 +641,65 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	// -- Media Player Event Functions
 	
 	/**
-	 * Begin playing back the video from the current position
+	 * Begin playing back the video from the current position.
+	 * 
+	 * @return the video time once VLC reports that the video has started playing
 	 */
-	public void playVideo()
+	public Future<Long> playVideo()
 	{
-		mediaPlayer.play();
+		stopStepping();
+		
+		final PlayerFuture<Long> started = expectPlaying();
+		
+		commands.execute(new Runnable()
+		{
+			public void run()
+			{
+				// If the video is already playing, there won't be an event to wait for
+				if (mediaPlayer.isPlaying())
+				{
+					started.complete(mediaPlayer.getTime());
+				}
+				else
+				{
+					mediaPlayer.play();
+					playRequest = started;
+				}
+			}
+		});
+		
+		return started;
 	}
 	
 	/**
 	 * Pause the video at its current position.
 	 * 
-	 * <p>
-	 * TODO: Remove the print statement
-	 * After a 75 ms delay, print out the current time of the video.
+	 * @return the video time once VLC reports that the video has paused
 	 */
-	public long pauseVideo()
+	public Future<Long> pauseVideo()
 	{
-		mediaPlayer.pause();
-
-		try 
-		{
-			Thread.sleep(75);
-		} 
-		catch (InterruptedException e)
+		final PlayerFuture<Long> paused = expectPaused();
+		
+		commands.execute(new Runnable()
 		{
-			System.err.println(" -- Error sleeping for 75 ms in nextFrame()");
-		}
-
-		System.out.println("Media Player Time: " + mediaPlayer.getTime());
+			public void run()
+			{
+				// If the video was just told to play, wait for VLC to start it, or it would look like it isn't playing and keep going after this
+				PlayerFuture<Long> starting = playRequest;
+				playRequest = null;
+				
+				if (starting != null && !starting.isDone())
+					awaitEvent(starting, "start");
+				
+				// Only pause a video that is playing. setPause never starts a video playing again the way pause() can.
+				if (mediaPlayer.isPlaying())
+					mediaPlayer.setPause(true);
+				else
+					paused.complete(mediaPlayer.getTime());
+			}
+		});
 		
-		return mediaPlayer.getTime();
+		return paused;
 	}
 
 	/**
@@ -452,62 +707,226 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	 * 
 	 * @param amount
 	 */
-	public void skipVideo(int amount)
+	public void skipVideo(final int amount)
 	{
-		mediaPlayer.skip(amount);
+		stopStepping();
+		
+		commands.execute(new Runnable()
+		{
+			public void run()
+			{
+				mediaPlayer.skip(amount);
+			}
+		});
 	}
 	
 	/**
-	 * Advance the video by one frame
+	 * Advance the video by one frame.
+	 * 
+	 * If a saved frame is being shown because the video was stepped back, the next saved frame is shown until the
+	 * frame VLC is on is reached. Otherwise the frame being shown is saved before VLC moves to the next one, so it
+	 * can be stepped back to later.
 	 * 
 	 * @return Returns the current time for use for other classes to determine where to sync up with the video at
 	 */
 	public long nextFrame()
 	{		
-		long currTime = System.currentTimeMillis();
+		long frame = getFrameMillis();
+		long target = startStepping() + frame;
 		
-		if (currTime - lastSystemTime >= 500)
+		if (shownTime < decodedTime)
+		{
+			// A saved frame is being shown, so move forward through the saved frames until VLC's frame is reached
+			if (target >= decodedTime - frame / 2)
+			{
+				hideFrame();
+				shownTime = decodedTime;
+			}
+			else
+			{
+				showFrameAt(target);
+			}
+		}
+		else
 		{
-			System.out.println("\n **** nextFrame() ****");
+			// Save VLC's frame once it has reached it, then step VLC forward
+			final long time = decodedTime;
 			
-			mediaPlayer.nextFrame();
-		
-			lastSystemTime = currTime;
-			System.out.println("Player Time (ms): " + mediaPlayer.getTime());
-		}		
+			commands.execute(new Runnable()
+			{
+				public void run()
+				{
+					saveFrame(time);
+					mediaPlayer.nextFrame();
+				}
+			});
+			
+			decodedTime = target;
+			shownTime = target;
+		}
 		
-		this.setVideoTimeLabel(mediaPlayer.getTime());
+		this.setVideoTimeLabel(shownTime);
 		
-		return mediaPlayer.getTime();
+		return shownTime;
 	}
 
 	/**
-	 * Reverse the video by one frame
+	 * Reverse the video by one frame.
 	 * 
-	 * <p>
-	 * FIXME: Fix the timings so that it will accurately move the video back by one frame. Currently moving 
-	 * 		  the video backwards 1/2 second in time. This appears to vary based on the type of codec used.
-	 * 		  For example, the Casio Camera's can only do 500ms jumps, while EvoCam Recordings can 
-	 * 		  handle ~250ms jumps.
+	 * VLC can only step forward, so stepping back shows the saved frame if there is one. Otherwise VLC has to seek
+	 * back to the frame, which means decoding from the keyframe before it.
 	 * 
 	 * @return Returns the current time for use for other classes to determine where to sync up with the video at 
 	 */
 	public long previousFrame()
 	{
-		long currentTime = mediaPlayer.getTime();
+		long target = Math.max(startStepping() - getFrameMillis(), 0);
 		
-		// Frame timing is calculated using 1000 / mediaPlayer.getFps() and done when the video loads. 
-		// It is the same value as the last line in the video information block in the console text
-		long newTime = (long) (currentTime - 500);
-
-		System.out.println("\n**** previousFrame() ****");
-		System.out.println("Time to jump to (ms): " + newTime);
+		// Save VLC's frame before leaving it, so stepping forward again can show it without seeking
+		if (shownTime == decodedTime)
+		{
+			final long time = decodedTime;
+			
+			commands.execute(new Runnable()
+			{
+				public void run()
+				{
+					saveFrame(time);
+				}
+			});
+		}
 		
-		jumpToTime(newTime);
+		showFrameAt(target);
 		
-		this.setVideoTimeLabel(mediaPlayer.getTime());
+		this.setVideoTimeLabel(shownTime);
 
-		return newTime;
+		return shownTime;
+	}
+	
+	/**
+	 * Shows the frame at the time, from the saved frames if it has been saved, or by having VLC seek to it.
+	 * 
+	 * @param time
+	 */
+	private void showFrameAt(long time)
+	{
+		BufferedImage saved = frameCache.get(time, getFrameMillis() / 2);
+		
+		if (saved != null)
+		{
+			showFrame(saved);
+		}
+		else
+		{
+			hideFrame();
+			seek(time);
+			decodedTime = time;
+		}
+		
+		shownTime = time;
+	}
+	
+	/**
+	 * Returns the time of the frame being shown, starting to keep track of the frames if the video wasn't already being stepped through.
+	 * @return
+	 */
+	private long startStepping()
+	{
+		if (decodedTime < 0)
+		{
+			decodedTime = mediaPlayer.getTime();
+			shownTime = decodedTime;
+		}
+		
+		return shownTime;
+	}
+	
+	/**
+	 * Stops keeping track of the frames being stepped through, and goes back to showing VLC's video.
+	 * This is called when anything else moves the video.
+	 */
+	private void stopStepping()
+	{
+		decodedTime = -1;
+		shownTime = -1;
+		
+		hideFrame();
+	}
+	
+	/**
+	 * Returns the number of milliseconds each frame is shown for, from the video's frame rate
+	 * @return
+	 */
+	private long getFrameMillis()
+	{
+		float fps = mediaPlayer.getFps();
+		
+		return Math.round(1000 / ((fps > 0) ? fps : DEFAULT_FPS));
+	}
+	
+	/**
+	 * Saves the frame VLC is showing at the size it is being displayed, so it doesn't hold more memory than it needs to.
+	 * This is only called on the player's own thread.
+	 * 
+	 * VLC moves to a frame in the background, so when steps are queued up the frame being shown can still be the one
+	 * before. The frame is only saved once VLC reports that it is at the time, and is skipped if it doesn't get there in time.
+	 * 
+	 * @param time - the video time of the frame
+	 */
+	private void saveFrame(long time)
+	{
+		long tolerance = getFrameMillis() / 2;
+		
+		// Start listening before checking the time, so a report that comes in between isn't missed
+		PlayerFuture<Long> reached = expectFrame(time, tolerance);
+		
+		if (Math.abs(mediaPlayer.getTime() - time) > tolerance)
+		{
+			try
+			{
+				reached.get(FRAME_TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+			catch (TimeoutException e)
+			{
+				return;
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		
+		int width = mediaPlayerComponent.getVideoSurface().getWidth();
+		int height = mediaPlayerComponent.getVideoSurface().getHeight();
+		
+		BufferedImage frame = (width > 0 && height > 0) ? mediaPlayer.getSnapshot(width, height) : mediaPlayer.getSnapshot();
+		
+		frameCache.add(time, frame, getFrameMillis() / 2);
+	}
+	
+	/**
+	 * Shows a saved frame over the video
+	 * @param frame
+	 */
+	private void showFrame(BufferedImage frame)
+	{
+		overlayFrame = frame;
+		frameOverlay.repaint();
+		
+		if (!mediaPlayer.overlayEnabled())
+			mediaPlayer.enableOverlay(true);
+	}
+	
+	/**
+	 * Stops showing a saved frame over the video
+	 */
+	private void hideFrame()
+	{
+		if (frameOverlay != null && mediaPlayer.overlayEnabled())
+			mediaPlayer.enableOverlay(false);
+		
+		overlayFrame = null;
 	}
 
 	/**
@@ -515,12 +934,29 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	 * 
 	 * @param time - Time since the beginning in milliseconds
 	 */
-	public void jumpToTime(long time)
+	public void jumpToTime(final long time)
 	{
 		System.out.println("\n **** jumpToTime(long time) ****");
 		System.out.println("Jumping Video To Time (ms): " + time);
 		
-		mediaPlayer.setTime(time);
+		stopStepping();
+		seek(time);
+	}
+	
+	/**
+	 * Has VLC move to the time, after any commands that are still waiting so it isn't undone by them.
+	 * 
+	 * @param time
+	 */
+	private void seek(final long time)
+	{
+		commands.execute(new Runnable()
+		{
+			public void run()
+			{
+				mediaPlayer.setTime(time);
+			}
+		});
 	}
 
 	/**
@@ -528,9 +964,15 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	 * 
 	 * @param rate - 0.5 is half speed, 1.0 is normal speed, 2.0 is double speed, etc...
 	 */
-	public void setPlaybackSpeed(float rate)
+	public void setPlaybackSpeed(final float rate)
 	{
-		mediaPlayer.setRate(rate);
+		commands.execute(new Runnable()
+		{
+			public void run()
+			{
+				mediaPlayer.setRate(rate);
+			}
+		});
 	}
 
 	/**
@@ -551,6 +993,26 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	{
 		return mediaPlayer.getTime();
 	}
+	
+	/**
+	 * Returns the number of milliseconds the video's time is ahead of the data
+	 * @return
+	 */
+	public long getTimeOffset()
+	{
+		return this.timeOffset;
+	}
+	
+	/**
+	 * Sets the number of milliseconds the video's time is ahead of the data, and moves the video to match it.
+	 * @param offset
+	 */
+	public void setTimeOffset(long offset)
+	{
+		this.timeOffset = offset;
+		
+		jumpToTime(dmp.getCurrentPosition() + offset);
+	}
 
 	/**
 	 * Update the label for the current video time.
@@ -578,10 +1040,11 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	private void notifyModelOfTimeChange()
 	{
 		// If the player ID is 1, it gets to update the model with the current video time.
-		if (playerID == 1)
+		// While playing, the position comes from the playback clock instead, and the videos are kept in sync with it.
+		if (playerID == 1 && !dmp.isPlaying())
 		{
-			// Perform notification to model of time change.
-			dmp.setCurrentTime(this.mediaPlayer.getTime());
+			// Perform notification to model of time change, removing the video's offset to get the data's time.
+			dmp.setCurrentTime(this.mediaPlayer.getTime() - timeOffset);
 		}
 	}
 	
@@ -633,6 +1096,11 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 			else
 				playVideo();
 		}
+		// Move the video later or earlier than the data, to line it up with the other cameras
+		else if (ke.getKeyCode() == KeyEvent.VK_OPEN_BRACKET)
+			setTimeOffset(timeOffset - OFFSET_STEP);
+		else if (ke.getKeyCode() == KeyEvent.VK_CLOSE_BRACKET)
+			setTimeOffset(timeOffset + OFFSET_STEP);
 	}
 	
 	public void stateChanged(ChangeEvent ce) {
@@ -712,6 +1180,16 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 	{
 		System.out.println("Time Change Detected " + time);
 		
+		// Let a frame that is waiting to be saved know that VLC has reached it
+		synchronized (eventLock)
+		{
+			if (pendingFrame != null && Math.abs(time - pendingFrameTime) <= pendingFrameTolerance)
+			{
+				pendingFrame.complete(time);
+				pendingFrame = null;
+			}
+		}
+		
 		// Notifies the model that the time has changed.
 		notifyModelOfTimeChange();
 		
@@ -727,6 +1205,31 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 		performShutdown(true);
 	}	
 	
+	/**
+	 * Shows the thumbnail closest to the time over the video without moving the video, such as while the position
+	 * slider is being dragged. The video is left where it is if the thumbnail hasn't been taken yet.
+	 * 
+	 * Any call that moves the video, such as jumpToTime, stops showing the thumbnail.
+	 * 
+	 * @param time - Time since the beginning in milliseconds
+	 */
+	public void previewTime(long time)
+	{
+		BufferedImage thumbnail = thumbnails.get(time);
+		
+		// Stop keeping track of stepped frames, but only hide the overlay when there is no thumbnail, so it
+		// doesn't flicker between thumbnails while the slider is dragged
+		decodedTime = -1;
+		shownTime = -1;
+		
+		if (thumbnail != null)
+			showFrame(thumbnail);
+		else
+			hideFrame();
+
+		this.setVideoTimeLabel(time);
+	}
+	
 	/**
 	 * Performed when the VideoPlayer needs to be shut down - either by itself or by some external caller.
 	 * It releases all VLC libraries before notifying the data model to unregister the video player.	
@@ -736,6 +1239,22 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 		// Hide the video player
 		this.setVisible(false);
 		
+		// Stop taking thumbnails, since the video is going away
+		if (thumbnailThread != null)
+			thumbnailThread.stopThread();
+		
+		// Let any commands already sent to VLC finish before it is released
+		commands.shutdown();
+		
+		try
+		{
+			commands.awaitTermination(EVENT_TIMEOUT * 2, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		
 		// Release the Media Player & Media Player Components
 		this.mediaPlayer.release();
 		this.mediaPlayerComponent.release();
@@ -790,9 +1309,29 @@ public class VideoPlayer extends JFrame implements KeyListener, MediaPlayerEvent
 
 	public void pausableChanged(MediaPlayer arg0, int arg1) {}
 
-	public void paused(MediaPlayer arg0) {}
+	/**
+	 * Invoked when VLC reports that the video has paused. Completes any request waiting for it.
+	 */
+	public void paused(MediaPlayer mp) 
+	{
+		synchronized (eventLock)
+		{
+			if (pendingPause != null)
+				pendingPause.complete(mp.getTime());
+		}
+	}
 
-	public void playing(MediaPlayer arg0) {}
+	/**
+	 * Invoked when VLC reports that the video has started playing. Completes any request waiting for it.
+	 */
+	public void playing(MediaPlayer mp) 
+	{
+		synchronized (eventLock)
+		{
+			if (pendingPlay != null)
+				pendingPlay.complete(mp.getTime());
+		}
+	}
 
 	public void positionChanged(MediaPlayer arg0, float arg1) {}
 